@@ -19,6 +19,8 @@ val fabricApiVersion: String by project
 val polymerVersion: String by project
 val projectVersion: String by project
 val modrinthId: String by project
+val jmhVersion: String by project
+val junitVersion: String by project
 
 val isPublish = System.getenv("GITHUB_EVENT_NAME") == "release"
 val isRelease = System.getenv("BUILD_RELEASE").toBoolean()
@@ -37,6 +39,11 @@ java {
 	targetCompatibility = JavaVersion.VERSION_17
 }
 
+val jmh: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+	runtimeClasspath += sourceSets.main.get().output + sourceSets.main.get().runtimeClasspath
+}
+
 repositories {
 	mavenCentral()
 	maven {
@@ -51,6 +58,13 @@ dependencies {
 	modImplementation("net.fabricmc", "fabric-loader", loaderVersion)
 	modImplementation("net.fabricmc.fabric-api", "fabric-api", fabricApiVersion)
 	modImplementation("eu.pb4", "polymer-core", polymerVersion)
+
+	"jmhImplementation"("org.openjdk.jmh", "jmh-core", jmhVersion)
+	"jmhAnnotationProcessor"("org.openjdk.jmh", "jmh-generator-annprocess", jmhVersion)
+
+	testImplementation(platform("org.junit:junit-bom:$junitVersion"))
+	testImplementation("org.junit.jupiter", "junit-jupiter")
+	testRuntimeOnly("org.junit.platform", "junit-platform-launcher")
 }
 spotless {
 	java {
@@ -82,6 +96,22 @@ tasks {
 	withType<Jar> {
 		from("LICENSE")
 	}
+	test {
+		useJUnitPlatform()
+	}
+	register<JavaExec>("jmh") {
+		group = "verification"
+		description = "Runs the JMH benchmarks, writing JSON results to build/reports/jmh for diffing between releases."
+		val results = layout.buildDirectory.file("reports/jmh/results-${project.version}.json")
+		classpath = jmh.runtimeClasspath
+		mainClass.set("org.openjdk.jmh.Main")
+		args("-prof", "gc", "-rf", "json", "-rff", results.get().asFile.path)
+		// Allows `gradlew jmh -Pjmh.include=Collision` to run a subset.
+		project.findProperty("jmh.include")?.let { args(it) }
+		doFirst {
+			results.get().asFile.parentFile.mkdirs()
+		}
+	}
 	modrinth {
 		token.set(System.getenv("MODRINTH_TOKEN"))
 		projectId.set(modrinthId)
@@ -0,0 +1,36 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+
+/**
+ * Brings up the registries without starting a server.
+ * <p>
+ * Main is bootstrapped first to mimic
+ * {@link gay.ampflower.polysit.mixin.MixinEntityTypeBootstrap}, as there are no
+ * mixins applied within the benchmarks.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+final class BenchBootstrap {
+	private static boolean initialised;
+
+	static synchronized void init() {
+		if (initialised) {
+			return;
+		}
+		SharedConstants.createGameVersion();
+		Main.bootstrap();
+		Bootstrap.initialize();
+		SeatTable.rebuild();
+		initialised = true;
+	}
+}
@@ -0,0 +1,108 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.CollisionView;
+import net.minecraft.world.border.WorldBorder;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lightweight stand-in world of a single chunk for running collision queries
+ * without a server.
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+final class BenchWorld implements CollisionView {
+	static final int SIZE = 16;
+	static final int HEIGHT = 16;
+
+	private final BlockState[] states = new BlockState[SIZE * HEIGHT * SIZE];
+	private final WorldBorder border = new WorldBorder();
+
+	BenchWorld() {
+		Arrays.fill(states, Blocks.AIR.getDefaultState());
+	}
+
+	BenchWorld set(int x, int y, int z, BlockState state) {
+		states[index(x, y, z)] = state;
+		return this;
+	}
+
+	/** Fills the layer at the given Y with the state. */
+	BenchWorld floor(int y, BlockState state) {
+		for (int z = 0; z < SIZE; z++) {
+			for (int x = 0; x < SIZE; x++) {
+				set(x, y, z, state);
+			}
+		}
+		return this;
+	}
+
+	private static int index(int x, int y, int z) {
+		return (y * SIZE + z) * SIZE + x;
+	}
+
+	private static boolean inBounds(int x, int y, int z) {
+		return x >= 0 && x < SIZE && y >= 0 && y < HEIGHT && z >= 0 && z < SIZE;
+	}
+
+	@Override
+	public WorldBorder getWorldBorder() {
+		return border;
+	}
+
+	@Nullable
+	@Override
+	public BlockView getChunkAsView(int chunkX, int chunkZ) {
+		return chunkX == 0 && chunkZ == 0 ? this : null;
+	}
+
+	@Override
+	public List<VoxelShape> getEntityCollisions(@Nullable Entity entity, Box box) {
+		return List.of();
+	}
+
+	@Nullable
+	@Override
+	public BlockEntity getBlockEntity(BlockPos pos) {
+		return null;
+	}
+
+	@Override
+	public BlockState getBlockState(BlockPos pos) {
+		final int x = pos.getX(), y = pos.getY(), z = pos.getZ();
+		return inBounds(x, y, z) ? states[index(x, y, z)] : Blocks.AIR.getDefaultState();
+	}
+
+	@Override
+	public FluidState getFluidState(BlockPos pos) {
+		return getBlockState(pos).getFluidState();
+	}
+
+	@Override
+	public int getHeight() {
+		return HEIGHT;
+	}
+
+	@Override
+	public int getBottomY() {
+		return 0;
+	}
+}
@@ -0,0 +1,103 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import net.minecraft.block.Blocks;
+import net.minecraft.block.ShapeContext;
+import net.minecraft.entity.EntityDimensions;
+import net.minecraft.entity.player.PlayerEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costs of the individual collision and jump height queries used by sitting
+ * and dismounting.
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+	private static final EntityDimensions STANDING = PlayerEntity.STANDING_DIMENSIONS;
+	private static final EntityDimensions CROUCHING = EntityDimensions.changing(0.6F, 1.5F);
+	private static final EntityDimensions SWIMMING = EntityDimensions.changing(0.6F, 0.6F);
+
+	private BenchWorld world;
+	private ShapeContext context;
+	private double velocity;
+	private double jumpHeight;
+
+	@Setup
+	public void setup() {
+		BenchBootstrap.init();
+		world = new BenchWorld().floor(0, Blocks.STONE.getDefaultState())
+				.set(8, 1, 8, Blocks.OAK_STAIRS.getDefaultState()).set(8, 3, 8, Blocks.OAK_SLAB.getDefaultState())
+				.set(10, 1, 8, Blocks.OAK_FENCE.getDefaultState()).set(10, 3, 8, Blocks.STONE.getDefaultState());
+		context = ShapeContext.absent();
+		velocity = 0.42F;
+		jumpHeight = JumpHeightUtil.maxJumpHeight(velocity);
+	}
+
+	@Benchmark
+	public double maxJumpHeight() {
+		return JumpHeightUtil.maxJumpHeight(velocity);
+	}
+
+	@Benchmark
+	public double maxJumpHeightMemoised() {
+		return JumpHeightUtil.maxJumpHeight((float) velocity);
+	}
+
+	@Benchmark
+	public double ground() {
+		return CollisionUtil.ground(world, context, 8.5D, 1.5D, 8.5D, STANDING.width, jumpHeight);
+	}
+
+	@Benchmark
+	public double adjustFitClear() {
+		return CollisionUtil.fit(world, context, 4.5D, 1.D, 4.5D, STANDING, 1.D + jumpHeight + STANDING.height).min;
+	}
+
+	@Benchmark
+	public double adjustFitObstructed() {
+		// Stair below, slab overhead.
+		return CollisionUtil.fit(world, context, 8.5D, 1.D, 8.5D, STANDING, 1.D + jumpHeight + STANDING.height).min;
+	}
+
+	@Benchmark
+	public boolean isClear() {
+		return CollisionUtil.isClear(world, context, 4.5D, 1.D, 4.5D, STANDING.width, 2.4D);
+	}
+
+	@Benchmark
+	public boolean isClearObstructed() {
+		return CollisionUtil.isClear(world, context, 10.5D, 2.5D, 8.5D, STANDING.width, 3.9D);
+	}
+
+	/**
+	 * Only the comparison over the poses; looking the poses up needs an entity.
+	 */
+	@Benchmark
+	public EntityDimensions smallest() {
+		return CollisionUtil.smallest(STANDING, CROUCHING, SWIMMING);
+	}
+}
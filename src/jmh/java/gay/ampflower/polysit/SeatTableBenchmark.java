@@ -0,0 +1,85 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import net.minecraft.block.BedBlock;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.ShapeContext;
+import net.minecraft.block.SlabBlock;
+import net.minecraft.block.StairsBlock;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.EmptyBlockView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-interaction cost of deciding whether a block is worth considering as a
+ * seat, comparing the precomputed table against building the collision shape
+ * first.
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatTableBenchmark {
+	@Param({ "minecraft:oak_door", "minecraft:chest", "minecraft:lever", "minecraft:oak_stairs",
+			"minecraft:oak_slab", "minecraft:red_bed" })
+	public String block;
+
+	private BlockState state;
+	private SeatTable table;
+
+	@Setup
+	public void setup() {
+		BenchBootstrap.init();
+		state = Registries.BLOCK.get(new Identifier(block)).getDefaultState();
+		table = SeatTable.current();
+	}
+
+	@Benchmark
+	public double table() {
+		if (!table.isUsable(state)) {
+			return -1.D;
+		}
+		// Static shapes never touch the entity.
+		return table.getTopHeight(EmptyBlockView.INSTANCE, state, BlockPos.ORIGIN, null) + table.getSeat(state).y();
+	}
+
+	@Benchmark
+	public double shapeFirst() {
+		final double topHeight = topHeight(state);
+		final var block = state.getBlock();
+		if (block instanceof StairsBlock || block instanceof SlabBlock || block instanceof BedBlock) {
+			return topHeight;
+		}
+		return -1.D;
+	}
+
+	private static double topHeight(final BlockState state) {
+		return state.getCollisionShape(EmptyBlockView.INSTANCE, BlockPos.ORIGIN, ShapeContext.absent())
+				.getMax(Direction.Axis.Y);
+	}
+}
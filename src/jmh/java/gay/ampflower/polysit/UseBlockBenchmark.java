@@ -0,0 +1,93 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import net.minecraft.block.Blocks;
+import net.minecraft.block.ShapeContext;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The use-block decision of {@link Main#main()}, minus spawning the seat, for
+ * a player standing next to the block: the seat table's lookups, the grounding
+ * and then {@link Main#plan}, as the asynchronous validator runs them.
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UseBlockBenchmark {
+	@Param({ "stairs", "slab", "door", "chest" })
+	public String target;
+
+	private final double[] out = new double[1];
+
+	private BenchWorld world;
+	private ShapeContext context;
+	private SeatTable table;
+	private BlockPos pos;
+	private double jumpHeight;
+	private double width;
+	private CollisionUtil.SittingHeight sitting;
+
+	@Setup
+	public void setup() {
+		BenchBootstrap.init();
+		world = new BenchWorld().floor(0, Blocks.STONE.getDefaultState())
+				.set(8, 1, 8, Blocks.OAK_STAIRS.getDefaultState()).set(9, 1, 8, Blocks.OAK_SLAB.getDefaultState())
+				.set(10, 1, 8, Blocks.OAK_DOOR.getDefaultState()).set(11, 1, 8, Blocks.CHEST.getDefaultState());
+		context = ShapeContext.absent();
+		table = SeatTable.current();
+		pos = switch (target) {
+			case "stairs" -> new BlockPos(8, 1, 8);
+			case "slab" -> new BlockPos(9, 1, 8);
+			case "door" -> new BlockPos(10, 1, 8);
+			case "chest" -> new BlockPos(11, 1, 8);
+			default -> throw new IllegalArgumentException(target);
+		};
+		jumpHeight = JumpHeightUtil.maxJumpHeight(0.42F);
+		width = PlayerEntity.STANDING_DIMENSIONS.width;
+		// What getEffectiveSittingHeight gives for an unscaled player, as there's no
+		// entity without a server.
+		sitting = new CollisionUtil.SittingHeight(PlayerEntity.STANDING_DIMENSIONS.height - 0.35D, 0.D);
+	}
+
+	@Benchmark
+	public SitOutcome decide() {
+		final var state = world.getBlockState(pos);
+		final var seat = table.getSeat(state);
+		if (seat == null || !seat.isUsable()) {
+			return SitOutcome.NOT_A_SEAT;
+		}
+
+		final double topHeight = table.getTopHeight(world, state, pos, null);
+		// The player is standing on the floor, a block north of the target.
+		final double groundY = CollisionUtil.ground(world, context, pos.getX() + 0.5D, 1.D, pos.getZ() - 0.5D, width,
+				jumpHeight);
+
+		return Main.plan(world, context, pos, topHeight, groundY, jumpHeight, pos.getX() + seat.x(),
+				pos.getY() + seat.y(), pos.getZ() + seat.z(), width, sitting, out, 0);
+	}
+}
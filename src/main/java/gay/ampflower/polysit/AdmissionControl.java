@@ -0,0 +1,127 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import net.minecraft.entity.Entity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-entity token buckets for sit attempts, allowing spam to be dropped before
+ * touching the world.
+ * <p>
+ * Each bucket is stored as a single long, the time at which the bucket would be
+ * full again, keyed by entity ID. A bucket that has fully refilled is the same
+ * as no bucket at all, so stale entries, such as from players that have left or
+ * respawned, are pruned as the map grows rather than tracked.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public final class AdmissionControl {
+	/** Budget for sitting by using a block. */
+	public static final AdmissionControl USE_BLOCK = new AdmissionControl();
+	/** Budget for sitting via /sit. */
+	public static final AdmissionControl COMMAND = new AdmissionControl();
+
+	private static final int PRUNE_THRESHOLD = 64;
+
+	private final Int2LongOpenHashMap buckets = new Int2LongOpenHashMap();
+	private final LongAdder admitted = new LongAdder();
+	private final LongAdder shed = new LongAdder();
+
+	/** Nanoseconds it takes to regain one attempt; 0 if unlimited. */
+	private long interval;
+	/** How far ahead of now a bucket may be, in nanoseconds, before shedding. */
+	private long tolerance;
+	private int pruneAt = PRUNE_THRESHOLD;
+
+	private AdmissionControl() {
+	}
+
+	/**
+	 * Applies the rates from {@link Config}.
+	 */
+	public static void configure() {
+		USE_BLOCK.configure(Config.useBlockRate, Config.useBlockBurst);
+		COMMAND.configure(Config.commandRate, Config.commandBurst);
+	}
+
+	private synchronized void configure(final double rate, final int burst) {
+		if (rate <= 0D) {
+			interval = 0L;
+			tolerance = 0L;
+		} else {
+			interval = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1L) / rate));
+			tolerance = interval * Math.max(0, burst - 1);
+		}
+		buckets.clear();
+	}
+
+	/**
+	 * Takes an attempt from the entity's bucket.
+	 *
+	 * @return false if the entity is over budget and the attempt should be dropped.
+	 */
+	public boolean tryAcquire(final Entity entity) {
+		if (!tryAcquire(entity.getId(), System.nanoTime())) {
+			shed.increment();
+			return false;
+		}
+		admitted.increment();
+		return true;
+	}
+
+	private synchronized boolean tryAcquire(final int id, final long now) {
+		if (interval == 0L) {
+			return true;
+		}
+
+		final long full = buckets.get(id);
+		// Nothing stored is the same as a full bucket.
+		final long base = full == 0L || full - now < 0L ? now : full;
+
+		if (base - now > tolerance) {
+			return false;
+		}
+
+		buckets.put(id, base + interval);
+
+		if (buckets.size() >= pruneAt) {
+			prune(now);
+		}
+		return true;
+	}
+
+	private void prune(final long now) {
+		final var iterator = buckets.int2LongEntrySet().fastIterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().getLongValue() - now < 0L) {
+				iterator.remove();
+			}
+		}
+		buckets.trim();
+		pruneAt = Math.max(PRUNE_THRESHOLD, buckets.size() << 1);
+	}
+
+	/**
+	 * @return Attempts that were let through.
+	 */
+	public long admitted() {
+		return admitted.sum();
+	}
+
+	/**
+	 * @return Attempts that were dropped for being over budget.
+	 */
+	public long shed() {
+		return shed.sum();
+	}
+}
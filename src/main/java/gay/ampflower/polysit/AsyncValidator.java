@@ -0,0 +1,448 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.ShapeContext;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.item.Item;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.shape.VoxelShape;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves the read-only part of sitting by using a block off the server thread.
+ * <p>
+ * Requests are queued during the tick, then at the end of the world's tick the
+ * chunk sections involved are copied into a {@link WorldSnapshot}, which the
+ * worker pool runs grounding and clearance checks against. Results are
+ * committed at the start of a following tick, on the server thread, where the
+ * seat is spawned and ridden. Should any of the sections involved have changed
+ * since the snapshot, or should the player have moved since submitting, the
+ * request is validated again synchronously.
+ * </p>
+ * <p>
+ * Whether a request is deferred depends on {@link Config#validationMode}:
+ * </p>
+ * <ul>
+ * <li>{@link Mode#SYNC}: never, everything runs on the server thread.</li>
+ * <li>{@link Mode#ASYNC}: whenever the seat allows it.</li>
+ * <li>{@link Mode#ADAPTIVE}: only once the measured cost of synchronous sits
+ * this tick would exceed {@link Config#validationBudget}.</li>
+ * </ul>
+ * <p>
+ * Beds, states with dynamic shapes and riders already on a vehicle are always
+ * validated synchronously. Workers never see the player itself, only a
+ * {@link DetachedContext} copied from it; requests whose checks would need the
+ * player, such as over powder snow or fluids, are validated synchronously on
+ * commit instead.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public final class AsyncValidator {
+	private static final Logger logger = LogUtils.getLogger();
+
+	/** Weight of the newest sample in the cost average, as a shift. */
+	private static final int COST_SHIFT = 3;
+	/**
+	 * How far the player may have moved since the request was submitted before
+	 * the grounding is no longer trusted, squared.
+	 */
+	private static final double MAX_DRIFT_SQUARED = 0.0625D * 0.0625D;
+
+	/** Only present while a server is running, see {@link #start()}. */
+	private static volatile ExecutorService pool;
+
+	private final ServerWorld world;
+	private final List<Request> queued = new ArrayList<>();
+	private final Queue<Batch> completed = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger outstanding = new AtomicInteger();
+	/** Sections changed since the oldest outstanding snapshot. */
+	private final LongOpenHashSet dirty = new LongOpenHashSet();
+
+	/** Moving average of a synchronous sit, in nanoseconds. */
+	private long cost;
+	private int requestsThisTick;
+
+	public AsyncValidator(final ServerWorld world) {
+		this.world = world;
+	}
+
+	@NotNull
+	public static AsyncValidator of(@NotNull ServerWorld world) {
+		return ((Holder) world).polysit$getAsyncValidator();
+	}
+
+	/**
+	 * Defers sitting on the block, if the mode and the seat allow it.
+	 *
+	 * @return true if the request has been taken, false if it should be validated
+	 *         synchronously.
+	 */
+	public boolean submit(final ServerPlayerEntity player, final BlockState state, final BlockPos pos,
+			final long start, @Nullable final SeatEvents.SitRequest event) {
+		final var mode = Config.validationMode;
+		if (mode == Mode.SYNC || pool == null) {
+			return false;
+		}
+
+		if (mode == Mode.ADAPTIVE && ++requestsThisTick * cost <= Config.validationBudget * 1000L) {
+			return false;
+		}
+
+		final var table = SeatTable.current();
+		final var seat = table.getSeat(state);
+
+		if (seat == null || !seat.isUsable() || seat.isBed() || Double.isNaN(seat.y())
+				|| !table.hasStaticTopHeight(state) || Main.isRiding(player)) {
+			return false;
+		}
+
+		final double topHeight = table.getTopHeight(world, state, pos, player);
+		final double jumpHeight = JumpHeightUtil.maxJumpHeight(player);
+		final var sitting = CollisionUtil.getEffectiveSittingHeight(player);
+		final double width = player.getWidth();
+
+		final var request = new Request(player, state, pos.toImmutable(), new DetachedContext(player),
+				player.getX(), player.getY(), player.getZ(), width, jumpHeight, topHeight,
+				pos.getX() + seat.x(), pos.getY() + seat.y(), pos.getZ() + seat.z(), sitting, start, event,
+				new LongOpenHashSet());
+
+		// Where the player stands, for grounding.
+		request.addSections(player.getX(), player.getY() - jumpHeight, player.getZ(), width, player.getY());
+		// Where the player will sit, for clearance.
+		request.addSections(request.seatX, pos.getY(), request.seatZ, width,
+				request.seatY + sitting.seatOffset() + sitting.height());
+
+		queued.add(request);
+		return true;
+	}
+
+	/**
+	 * Feeds the cost of a synchronous sit into the moving average.
+	 */
+	public void observe(final long nanos) {
+		cost += (nanos - cost) >> COST_SHIFT;
+	}
+
+	/**
+	 * Marks the section of the block as changed, if there's any snapshots that may
+	 * have seen it.
+	 */
+	public void onBlockChanged(final BlockPos pos) {
+		if (outstanding.get() != 0) {
+			dirty.add(ChunkSectionPos.toLong(pos));
+		}
+	}
+
+	/**
+	 * Commits the completed batches. Called at the start of the world's tick.
+	 */
+	public void commit() {
+		requestsThisTick = 0;
+
+		Batch batch;
+		while ((batch = completed.poll()) != null) {
+			for (int i = 0; i < batch.requests.size(); i++) {
+				commit(batch.requests.get(i), batch.outcomes[i], batch.ys[i]);
+			}
+			outstanding.decrementAndGet();
+		}
+
+		if (outstanding.get() == 0 && !dirty.isEmpty()) {
+			dirty.clear();
+		}
+	}
+
+	/**
+	 * Snapshots and dispatches the queued requests. Called at the end of the
+	 * world's tick.
+	 */
+	public void dispatch() {
+		if (queued.isEmpty()) {
+			return;
+		}
+
+		final var requests = List.copyOf(queued);
+		queued.clear();
+
+		final var keys = new LongOpenHashSet();
+		for (final var request : requests) {
+			keys.addAll(request.sections);
+		}
+
+		final var batch = new Batch(requests, WorldSnapshot.of(world, keys));
+		outstanding.incrementAndGet();
+
+		final var pool = AsyncValidator.pool;
+		if (pool == null) {
+			completed.add(batch);
+			return;
+		}
+
+		try {
+			pool.execute(() -> {
+				try {
+					batch.run();
+				} catch (Throwable t) {
+					logger.error("Failed to validate {} seats", requests.size(), t);
+				}
+				completed.add(batch);
+			});
+		} catch (RejectedExecutionException ree) {
+			// Validated synchronously on commit instead.
+			completed.add(batch);
+		}
+	}
+
+	private void commit(final Request request, final SitOutcome planned, final double y) {
+		final var player = request.player;
+
+		if (player.isRemoved() || player.getWorld() != world || Main.isRiding(player)
+				|| world.getBlockState(request.pos) != request.state) {
+			record(request, SitOutcome.FAILED);
+			return;
+		}
+
+		// The snapshot is stale, the player has since moved, or the worker never got
+		// to it.
+		if (planned == null || request.isDirty(dirty) || request.hasMoved()) {
+			final var outcome = Main.sitOnBlock(world, request.state, request.pos, player);
+			record(request, outcome);
+			return;
+		}
+
+		if (planned == SitOutcome.OBSTRUCTED || planned == SitOutcome.UNSUPPORTED) {
+			RejectionCache.of(world).reject(player, request.pos, request.state, world.getTime());
+		}
+
+		if (planned != SitOutcome.SEATED) {
+			record(request, planned);
+			return;
+		}
+
+		record(request, Main.resit(world, player, request.seatX, y, request.seatZ));
+	}
+
+	private static void record(final Request request, final SitOutcome outcome) {
+		SitMetrics.record(SitMetrics.Source.USE_BLOCK, outcome, request.start);
+		SeatEvents.SitRequest.complete(request.event, SitMetrics.Source.USE_BLOCK, request.state, outcome);
+	}
+
+	/**
+	 * Drops everything in flight, without recording outcomes, as the world is
+	 * going away.
+	 */
+	private void drop() {
+		queued.clear();
+		completed.clear();
+		outstanding.set(0);
+		dirty.clear();
+		requestsThisTick = 0;
+	}
+
+	/**
+	 * Creates the worker pool with {@link Config#validationThreads}. Called once
+	 * the server has started.
+	 */
+	public static synchronized void start() {
+		if (pool != null) {
+			return;
+		}
+		final var counter = new AtomicInteger();
+		pool = Executors.newFixedThreadPool(Math.max(1, Config.validationThreads), runnable -> {
+			final var thread = new Thread(runnable, "Polysit Validator #" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Shuts the worker pool down and drops every world's pending requests. Called
+	 * as the server is stopping; until the next start, requests are validated
+	 * synchronously.
+	 */
+	public static synchronized void stop(final MinecraftServer server) {
+		final var pool = AsyncValidator.pool;
+		if (pool != null) {
+			AsyncValidator.pool = null;
+			pool.shutdownNow();
+			try {
+				if (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+					logger.warn("Seat validators did not stop in time");
+				}
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		for (final var world : server.getWorlds()) {
+			of(world).drop();
+		}
+	}
+
+	/**
+	 * How sits are validated.
+	 */
+	public enum Mode {
+		SYNC, ASYNC, ADAPTIVE;
+
+		public static Mode of(final String name) {
+			return valueOf(name.trim().toUpperCase(Locale.ROOT));
+		}
+	}
+
+	/**
+	 * Everything a worker needs to validate a seat, captured on the server thread.
+	 */
+	private record Request(ServerPlayerEntity player, BlockState state, BlockPos pos, DetachedContext context,
+			double x, double y, double z, double width, double jumpHeight, double topHeight, double seatX,
+			double seatY, double seatZ, CollisionUtil.SittingHeight sitting, long start,
+			@Nullable SeatEvents.SitRequest event, LongOpenHashSet sections) {
+
+		void addSections(final double x, final double minY, final double z, final double width, final double maxY) {
+			WorldSnapshot.addSections(sections, x, minY, z, width, maxY);
+		}
+
+		/**
+		 * @return true if the player is no longer where the grounding was checked.
+		 */
+		boolean hasMoved() {
+			return player.squaredDistanceTo(x, y, z) > MAX_DRIFT_SQUARED;
+		}
+
+		boolean isDirty(final LongOpenHashSet dirty) {
+			if (dirty.isEmpty()) {
+				return false;
+			}
+			final var iterator = sections.iterator();
+			while (iterator.hasNext()) {
+				if (dirty.contains(iterator.nextLong())) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Runs {@link Main#plan} against the snapshot.
+		 *
+		 * @return The planned outcome, with the seat's Y in y on success.
+		 */
+		SitOutcome validate(final WorldSnapshot snapshot, final double[] y, final int index) {
+			final double ground = CollisionUtil.ground(snapshot, context, x, this.y, z, width, jumpHeight);
+
+			return Main.plan(snapshot, context, pos, topHeight, ground, jumpHeight, seatX, seatY, seatZ, width,
+					sitting, y, index);
+		}
+	}
+
+	/**
+	 * A set of requests sharing a snapshot. Outcomes stay null until validated.
+	 */
+	private static final class Batch {
+		final List<Request> requests;
+		final WorldSnapshot snapshot;
+		final SitOutcome[] outcomes;
+		final double[] ys;
+
+		Batch(final List<Request> requests, final WorldSnapshot snapshot) {
+			this.requests = requests;
+			this.snapshot = snapshot;
+			this.outcomes = new SitOutcome[requests.size()];
+			this.ys = new double[requests.size()];
+		}
+
+		void run() {
+			for (int i = 0; i < outcomes.length; i++) {
+				final var request = requests.get(i);
+				// Left null for the server thread to validate.
+				if (snapshot.dependsOnEntity(request.sections)) {
+					continue;
+				}
+
+				final var outcome = request.validate(snapshot, ys, i);
+				if (!request.context.neededEntity) {
+					outcomes[i] = outcome;
+				}
+			}
+		}
+	}
+
+	/**
+	 * The parts of the player's shape context that are plain values, copied on
+	 * the server thread so that workers never touch the player.
+	 * <p>
+	 * Anything that would need the player itself only marks the context, after
+	 * which the request is validated synchronously instead. Only read and written
+	 * by the worker validating its request.
+	 * </p>
+	 */
+	private static final class DetachedContext implements ShapeContext {
+		private final boolean descending;
+		private final double minY;
+		private final Item heldItem;
+		boolean neededEntity;
+
+		DetachedContext(final ServerPlayerEntity player) {
+			this.descending = player.isDescending();
+			this.minY = player.getY();
+			this.heldItem = player.getMainHandStack().getItem();
+		}
+
+		@Override
+		public boolean isDescending() {
+			return descending;
+		}
+
+		@Override
+		public boolean isAbove(final VoxelShape shape, final BlockPos pos, final boolean defaultValue) {
+			return minY > pos.getY() + shape.getMax(Direction.Axis.Y) - 1.0E-5F;
+		}
+
+		@Override
+		public boolean isHolding(final Item item) {
+			return heldItem == item;
+		}
+
+		@Override
+		public boolean canWalkOnFluid(final FluidState stateAbove, final FluidState state) {
+			neededEntity = true;
+			return false;
+		}
+	}
+
+	/**
+	 * Implemented on {@link ServerWorld} by
+	 * {@link gay.ampflower.polysit.mixin.MixinServerWorld}.
+	 */
+	public interface Holder {
+		AsyncValidator polysit$getAsyncValidator();
+	}
+}
@@ -0,0 +1,157 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Seats many entities at once, such as for minigames and events.
+ * <p>
+ * Placements are validated against the live world on the server thread, in
+ * order of chunk section so that neighbouring ones run together. Each still
+ * makes its own queries, so the cost is that of seating every entity one after
+ * the other. Each seat is sent as soon as it's ridden, as its own bundle with
+ * its rider, to those that can see the rider.
+ * </p>
+ * <p>
+ * Entities already riding something are only dismounted once their new seat
+ * has been validated, so a failed placement leaves them where they were.
+ * </p>
+ * <p>
+ * Unlike using a block, there's no jump height check nor rate limiting, and
+ * blocks that aren't seats are sat on at the top centre of the block, as with
+ * {@code /sit}. Beds follow the same rules as using them: only during the day,
+ * and not where they'd explode, though the spawn point is left alone.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public final class BulkSeating {
+	private BulkSeating() {
+	}
+
+	/**
+	 * An entity to seat on the block at the position.
+	 */
+	public record Placement(@NotNull Entity entity, @NotNull BlockPos pos) {
+	}
+
+	/**
+	 * Seats every entity on its block.
+	 *
+	 * @return The outcome of each placement, in the order given.
+	 */
+	@NotNull
+	public static SitOutcome[] sit(@NotNull final ServerWorld world, @NotNull final List<Placement> placements) {
+		final int size = placements.size();
+		final var outcomes = new SitOutcome[size];
+		final var sectionOf = new long[size];
+		final var order = new int[size];
+
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+			sectionOf[i] = ChunkSectionPos.toLong(placements.get(i).pos());
+		}
+
+		// Keeps neighbouring placements together for cache locality.
+		IntArrays.quickSort(order, (a, b) -> Long.compare(sectionOf[a], sectionOf[b]));
+
+		for (final int i : order) {
+			final long start = SitMetrics.start();
+			final var event = SeatEvents.SitRequest.start();
+			final var placement = placements.get(i);
+			final var state = world.getBlockState(placement.pos());
+			final var outcome = sit(world, state, placement.entity(), placement.pos());
+			SitMetrics.record(SitMetrics.Source.BULK, outcome, start);
+			SeatEvents.SitRequest.complete(event, SitMetrics.Source.BULK, state, outcome);
+			outcomes[i] = outcome;
+		}
+
+		return outcomes;
+	}
+
+	private static SitOutcome sit(final ServerWorld world, final BlockState state, final Entity entity,
+			final BlockPos pos) {
+		if (entity.isRemoved() || entity.getWorld() != world) {
+			return SitOutcome.FAILED;
+		}
+
+		if (state.isAir()) {
+			return SitOutcome.AIR;
+		}
+
+		final var table = SeatTable.current();
+		final var seat = table.getSeat(state);
+
+		if (seat != null && seat.isBed()) {
+			final var refusal = Main.checkBed(world, false);
+			if (refusal != null) {
+				return refusal;
+			}
+		}
+
+		final double topHeight = table.getTopHeight(world, state, pos, entity);
+
+		if (topHeight < 0.D) {
+			return SitOutcome.AIR;
+		}
+
+		final double x;
+		final double y;
+		final double z;
+
+		if (seat != null && seat.isCommandUsable()) {
+			x = pos.getX() + seat.x();
+			y = pos.getY() + (Double.isNaN(seat.y()) ? topHeight + Main.VERTICAL_SOLID_OFFSET : seat.y());
+			z = pos.getZ() + seat.z();
+		} else {
+			x = pos.getX() + Main.HORIZONTAL_CENTER_OFFSET;
+			y = pos.getY() + topHeight + Main.VERTICAL_SOLID_OFFSET;
+			z = pos.getZ() + Main.HORIZONTAL_CENTER_OFFSET;
+		}
+
+		final var index = SeatIndex.of(world);
+		final var support = Main.blockPosOfFloored(x, y + Main.VERTICAL_CHECK_OFFSET, z);
+		final var virtual = index.findVirtual(support, x, z, entity.getWidth());
+
+		if (virtual != null) {
+			return virtual.getRider() == entity ? SitOutcome.SEATED : SitOutcome.OCCUPIED;
+		}
+
+		final var existing = index.find(support, x, z, entity.getWidth());
+
+		if (existing != null && existing.hasPassengers()) {
+			return existing.hasPassenger(entity) ? SitOutcome.SEATED : SitOutcome.OCCUPIED;
+		}
+
+		if (existing == null && !Config.evictSeats && !index.hasRoom(support)) {
+			return SitOutcome.LIMITED;
+		}
+
+		if (!SeatEntity.isSupported(world, x, y, z)) {
+			return SitOutcome.UNSUPPORTED;
+		}
+
+		final var sitting = CollisionUtil.getEffectiveSittingHeight(entity);
+		final double seatY = y + sitting.seatOffset();
+
+		if (!CollisionUtil.isClear(entity, x, pos.getY() + topHeight, z, seatY + sitting.height())) {
+			return SitOutcome.OBSTRUCTED;
+		}
+
+		return Main.mount(world, index, existing, entity, x, seatY, z);
+	}
+}
@@ -6,9 +6,14 @@
 
 package gay.ampflower.polysit;
 
+import com.mojang.brigadier.CommandDispatcher;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
 import net.minecraft.client.option.KeyBinding;
 import net.minecraft.client.util.InputUtil;
 import org.lwjgl.glfw.GLFW;
@@ -16,25 +21,53 @@ import org.lwjgl.glfw.GLFW;
 import java.util.List;
 
 /**
+ * Sends the sit toggle over {@link Main#SIT_CHANNEL} when the server has
+ * Polysit, else falls back to {@code /sit} when the server has the command.
+ *
  * @author Ampflower
  * @since 0.7.1
  **/
 public class Client implements ClientModInitializer {
 	private static KeyBinding sitBinding;
 
+	// The dispatcher is replaced whenever the server resends the command tree, so
+	// it doubles as the cache key.
+	private static CommandDispatcher<?> lastDispatcher;
+	private static boolean hasSitCommand;
+
 	@Override
 	public void onInitializeClient() {
 		sitBinding = KeyBindingHelper.registerKeyBinding(
 				new KeyBinding("key.polysit.sit", InputUtil.Type.KEYSYM, GLFW.GLFW_KEY_G, "category.polysit.gameplay"));
 
+		ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+			lastDispatcher = null;
+			hasSitCommand = false;
+		});
+
 		ClientTickEvents.END_CLIENT_TICK.register(client -> {
 			while (sitBinding.wasPressed()) {
 				final var play = client.getNetworkHandler();
 
-				if (play != null && play.getCommandDispatcher().findNode(List.of("sit")) != null) {
+				if (play == null) {
+					continue;
+				}
+
+				if (ClientPlayNetworking.canSend(Main.SIT_CHANNEL)) {
+					ClientPlayNetworking.send(Main.SIT_CHANNEL, PacketByteBufs.empty());
+				} else if (hasSitCommand(play)) {
 					play.sendCommand("sit");
 				}
 			}
 		});
 	}
+
+	private static boolean hasSitCommand(final ClientPlayNetworkHandler play) {
+		final var dispatcher = play.getCommandDispatcher();
+		if (dispatcher != lastDispatcher) {
+			lastDispatcher = dispatcher;
+			hasSitCommand = dispatcher.findNode(List.of("sit")) != null;
+		}
+		return hasSitCommand;
+	}
 }
@@ -7,22 +7,39 @@
 package gay.ampflower.polysit;
 
 import com.mojang.logging.LogUtils;
-import gay.ampflower.polysit.mixin.AccessorEntity;
+import it.unimi.dsi.fastutil.HashCommon;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.ShapeContext;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityDimensions;
 import net.minecraft.entity.EntityPose;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.function.BooleanBiFunction;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.util.shape.VoxelShapes;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.CollisionView;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
-import java.util.Iterator;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
-
 /**
  * Checks the collision of the player in question
+ * <p>
+ * The collision queries walk the blocks directly rather than going through
+ * {@link CollisionView#getBlockCollisions(Entity, Box)}, visiting blocks in the
+ * same order and with the same edge rules as
+ * {@link net.minecraft.world.BlockCollisionSpliterator}, so that the results
+ * are identical. Bounding boxes of collision shapes are cached per state as
+ * flat arrays, and scratch state is kept per thread, so a query allocates
+ * close to nothing.
+ * </p>
  *
  * @author Ampflower
  * @since 0.6.0
@@ -30,26 +47,108 @@ import java.util.stream.StreamSupport;
 public final class CollisionUtil {
 	private static final Logger logger = LogUtils.getLogger();
 
+	/** Tolerance used by the vanilla spliterator and shape merging. */
+	private static final double EPSILON = 1.0E-7;
+
+	private static final int MODE_GROUND = 0;
+	private static final int MODE_FIT = 1;
+	private static final int MODE_CLEAR = 2;
+
+	private static final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+	/** Must be a power of two. */
+	private static final int SITTING_MEMO_SIZE = 64;
+	private static final SittingMemo[] sittingMemo = new SittingMemo[SITTING_MEMO_SIZE];
+
 	public static FittingPosition adjustFit(final Entity entity, double x, double y, double z) {
 		// The entity in question shouldn't be able to be placed beyond their jump
 		// height.
-		double max = y + JumpHeightUtil.maxJumpHeight(entity) + entity.getHeight();
-		double min = y;
+		final long start = SitMetrics.start();
+		final var event = new SeatEvents.DismountFit();
+		event.begin();
 
-		Box box = getSmallestPose(entity, x, y, z);
-		Iterator<Box> itr = collisionBoxStream(entity, box.withMaxY(max)).iterator();
+		final double max = y + JumpHeightUtil.maxJumpHeight(entity) + entity.getHeight();
+		final var dimensions = getSmallestPose(entity);
 
-		while (itr.hasNext()) {
-			final Box bound = itr.next();
-			if (!bound.intersects(box)) {
-				max = Math.min(max, bound.minY);
-				continue;
-			}
-			box = box.offset(0, bound.maxY - min, 0);
-			min = bound.maxY;
+		final var s = fit(entity.getWorld(), context(entity), x, y, z, dimensions, max);
+		final var position = new FittingPosition(s.min, getLargestFittingPose(entity, s.max - s.min));
+
+		SitMetrics.ADJUST_FIT.record(start);
+		event.complete(entity, position.pose(), s.scanned, s.min - y);
+		return position;
+	}
+
+	/**
+	 * Checks whether the entity should be fitted into the world when getting off
+	 * the vehicle, as per {@link Config#dismountFit}.
+	 */
+	public static boolean shouldFit(final Entity entity, @Nullable final EntityType<?> vehicle) {
+		if (!Config.dismountFit) {
+			return false;
 		}
+		final var skipEntities = Config.dismountSkipEntities;
+		if (!skipEntities.isEmpty() && skipEntities.contains(EntityType.getId(entity.getType()))) {
+			return false;
+		}
+		final var skipVehicles = Config.dismountSkipVehicles;
+		return vehicle == null || skipVehicles.isEmpty() || !skipVehicles.contains(EntityType.getId(vehicle));
+	}
+
+	/**
+	 * Fits the entity into the world when getting off the vehicle, if it should
+	 * be and doesn't already fit, taking on whichever pose it fits in.
+	 *
+	 * @return The Y to place the entity at.
+	 */
+	public static double dismountY(final Entity entity, @Nullable final EntityType<?> vehicle, final double x,
+			final double y, final double z) {
+		// Most dismounts already fit, which is far cheaper to check than to fit.
+		if (!shouldFit(entity, vehicle) || fits(entity, x, y, z)) {
+			return y;
+		}
+		final var fit = adjustFit(entity, x, y, z);
+		if (fit.pose() != null) {
+			entity.setPose(fit.pose());
+		}
+		return fit.y();
+	}
+
+	/**
+	 * Checks whether the entity fits at the position as it is, without trying
+	 * any other pose or height. Enough to skip {@link #adjustFit} for most
+	 * dismounts.
+	 */
+	public static boolean fits(final Entity entity, final double x, final double y, final double z) {
+		final boolean clear = isClear(entity.getWorld(), context(entity), x, y, z, entity.getWidth(),
+				y + entity.getHeight());
+		if (clear) {
+			SitMetrics.fitSkipped();
+		}
+		return clear;
+	}
 
-		return new FittingPosition(min, getLargestFittingPose(entity, max - min));
+	/**
+	 * Finds the lowest Y the given dimensions fit at, starting at y and going no
+	 * higher than max.
+	 *
+	 * @return The scratch, with {@link Scratch#min} being the fitting Y and
+	 *         {@link Scratch#max} being the ceiling.
+	 */
+	static Scratch fit(final CollisionView world, final ShapeContext context, final double x, final double y,
+			final double z, final EntityDimensions dimensions, final double max) {
+		final var s = scratch.get();
+		final double halfWidth = dimensions.width / 2.0F;
+
+		// Mirrors EntityDimensions#getBoxAt
+		s.setBox(x - halfWidth, y, z - halfWidth, x + halfWidth, y + (double) dimensions.height, z + halfWidth);
+		// Mirrors Box#withMaxY
+		s.setQuery(s.boxMinX, s.boxMinY, s.boxMinZ, s.boxMaxX, max, s.boxMaxZ);
+		s.min = y;
+		s.max = max;
+		s.scanned = 0;
+
+		scan(s, world, context, MODE_FIT);
+		return s;
 	}
 
 	public static Box getSmallestPose(Entity entity, double x, double y, double z) {
@@ -61,7 +160,7 @@ public final class CollisionUtil {
 		final var sneaking = entity.getDimensions(EntityPose.CROUCHING);
 		final var swimming = entity.getDimensions(EntityPose.SWIMMING);
 
-		return smallest(standing, sneaking, swimming);
+		return smallest(smallest(standing, sneaking), swimming);
 	}
 
 	public static EntityPose getLargestFittingPose(Entity entity, double y) {
@@ -77,15 +176,20 @@ public final class CollisionUtil {
 		EntityDimensions min = dimensions[0];
 
 		for (int i = 1; i < dimensions.length; i++) {
-			final var comparison = dimensions[i];
-			if (comparison.height < min.height && comparison.width <= min.width) {
-				min = comparison;
-			}
+			min = smallest(min, dimensions[i]);
 		}
 
 		return min;
 	}
 
+	@NotNull
+	private static EntityDimensions smallest(EntityDimensions min, EntityDimensions comparison) {
+		if (comparison.height < min.height && comparison.width <= min.width) {
+			return comparison;
+		}
+		return min;
+	}
+
 	@Nullable
 	private static EntityPose largest(final Entity entity, final double maxHeight, EntityPose... poses) {
 		if (poses.length == 0) {
@@ -107,19 +211,54 @@ public final class CollisionUtil {
 	}
 
 	public static double ground(final Entity entity) {
-		final double maxY = entity.getY();
-		final double minY = maxY - JumpHeightUtil.maxJumpHeight(entity);
+		final long start = SitMetrics.start();
+		final double ground = ground(entity.getWorld(), context(entity), entity.getX(), entity.getY(),
+				entity.getZ(), entity.getWidth(), JumpHeightUtil.maxJumpHeight(entity));
 
-		final var box = box(entity.getX(), minY, entity.getZ(), entity.getWidth(), maxY);
+		SitMetrics.GROUND.record(start);
+		return ground;
+	}
 
-		return collisionBoxStream(entity, box).mapToDouble(b -> b.maxY).max().orElse(Double.NEGATIVE_INFINITY);
+	/**
+	 * Finds the highest collision surface within jump height below the given
+	 * position.
+	 *
+	 * @return The top of the highest box, or negative infinity if there's none.
+	 */
+	public static double ground(final CollisionView world, final ShapeContext context, final double x,
+			final double y, final double z, final double width, final double jumpHeight) {
+		final var s = scratch.get();
+		s.setQuery(x, y - jumpHeight, z, width, y);
+		s.max = Double.NEGATIVE_INFINITY;
+
+		scan(s, world, context, MODE_GROUND);
+		return s.max;
 	}
 
-	public static boolean isClear(final Entity entity, final Entity seat, final double minY) {
-		final double maxY = getEffectiveSittingHeight(entity, seat);
-		final var box = box(seat.getX(), minY, seat.getZ(), entity.getWidth(), seat.getY() + maxY);
+	/**
+	 * Checks whether the entity fits within the column from minY to maxY, centred
+	 * at the seat.
+	 */
+	public static boolean isClear(final Entity entity, final double seatX, final double minY, final double seatZ,
+			final double maxY) {
+		final long start = SitMetrics.start();
+		final boolean clear = isClear(entity.getWorld(), context(entity), seatX, minY, seatZ, entity.getWidth(),
+				maxY);
+
+		SitMetrics.IS_CLEAR.record(start);
+		return clear;
+	}
 
-		return !collisions(entity, box).iterator().hasNext();
+	/**
+	 * Checks whether there's any collision within the column defined by
+	 * {@link #box(double, double, double, double, double)}.
+	 */
+	public static boolean isClear(final CollisionView world, final ShapeContext context, final double x,
+			final double y, final double z, final double width, final double maxY) {
+		final var s = scratch.get();
+		s.setQuery(x, y, z, width, maxY);
+
+		return !scan(s, world, context, MODE_CLEAR);
 	}
 
 	public static Box box(double x, double y, double z, double w, double my) {
@@ -127,43 +266,347 @@ public final class CollisionUtil {
 		return new Box(x - w, y, z - w, x + w, my, z + w);
 	}
 
-	private static double getEffectiveSittingHeight(final Entity entity, final Entity seat) {
-		// Funny catch: The entity already needs to be in sitting/standing pose for
-		// getVehicleAttachmentPos to behave correctly.
-		final var prevPose = entity.getPose();
-		final var prevVehicle = entity.getVehicle();
-		final var accessor = (AccessorEntity) entity;
-		entity.setPose(EntityPose.SITTING);
-		// Pehkui workaround - requires a vehicle to get the correct offset.
-		// As the seat in question is the vehicle, it'll always be correct.
-		accessor.setVehicle(null);
-		final double nullOffset = entity.getHeightOffset();
-		accessor.setVehicle(seat);
-		final double scaleOffset = entity.getHeightOffset();
-		final double height = entity.getHeight() + scaleOffset;
-		accessor.setVehicle(prevVehicle);
-		entity.setPose(prevPose);
-
-		if (seat instanceof SeatEntity) {
-			double yoff = Main.UPDATE_HEIGHT_OFFSET - Main.UPDATE_HEIGHT_OFFSET * scaleOffset / nullOffset;
-			seat.setPos(seat.getX(), seat.getY() + yoff, seat.getZ());
+	/**
+	 * Gets the height of the entity when sitting on a seat, without needing the
+	 * seat to exist.
+	 */
+	public static SittingHeight getEffectiveSittingHeight(final Entity entity) {
+		return getEffectiveSittingHeight(entity, Main.SEAT);
+	}
+
+	/**
+	 * Gets the height of the entity when sitting on the given type of vehicle,
+	 * without needing the vehicle to exist, nor touching the entity's pose or
+	 * vehicle.
+	 * <p>
+	 * Memoised by entity type, vehicle type and the entity's standing height. The
+	 * latter reflects any scaling, be it a baby's or Pehkui's, so a change in
+	 * scale is simply a different entry.
+	 * </p>
+	 */
+	public static SittingHeight getEffectiveSittingHeight(final Entity entity, final EntityType<?> vehicle) {
+		final var type = entity.getType();
+		final float standing = entity.getDimensions(EntityPose.STANDING).height;
+		final int bits = Float.floatToRawIntBits(standing);
+		final int slot = HashCommon.mix((System.identityHashCode(type) * 31 + System.identityHashCode(vehicle)) ^ bits)
+				& (SITTING_MEMO_SIZE - 1);
+
+		final var entry = sittingMemo[slot];
+		if (entry != null && entry.type == type && entry.vehicle == vehicle && entry.bits == bits) {
+			return entry.height;
 		}
 
+		final var height = sittingHeight(entity, standing);
+		sittingMemo[slot] = new SittingMemo(type, vehicle, bits, height);
 		return height;
 	}
 
-	private static Stream<Box> collisionBoxStream(Entity entity, Box box) {
-		return collisionStream(entity, box).flatMap(voxel -> voxel.getBoundingBoxes().stream()).filter(box::intersects);
+	private static SittingHeight sittingHeight(final Entity entity, final float standing) {
+		// Scaling beyond vanilla's, such as Pehkui's, which only applies to the height
+		// offset while riding.
+		final float unscaled = entity.getType().getDimensions().height
+				* (entity instanceof LivingEntity living ? living.getScaleFactor() : 1F);
+		final double scale = unscaled > 0F ? standing / unscaled : 1D;
+		final double offset = entity.hasVehicle() ? entity.getHeightOffset() : entity.getHeightOffset() * scale;
+
+		final double height = entity.getDimensions(EntityPose.SITTING).height + offset;
+		final double yoff = Main.UPDATE_HEIGHT_OFFSET - Main.UPDATE_HEIGHT_OFFSET * scale;
+
+		return new SittingHeight(height, yoff);
+	}
+
+	static ShapeContext context(@Nullable final Entity entity) {
+		return entity == null ? ShapeContext.absent() : ShapeContext.of(entity);
+	}
+
+	/**
+	 * Walks the blocks around the query box in the scratch, in the same order as
+	 * {@link net.minecraft.world.BlockCollisionSpliterator}, feeding every
+	 * colliding box to the given mode.
+	 *
+	 * @return true if the scan ended early, which only {@link #MODE_CLEAR} does.
+	 */
+	private static boolean scan(final Scratch s, final CollisionView world, final ShapeContext context,
+			final int mode) {
+		final int startX = MathHelper.floor(s.minX - EPSILON) - 1;
+		final int startY = MathHelper.floor(s.minY - EPSILON) - 1;
+		final int startZ = MathHelper.floor(s.minZ - EPSILON) - 1;
+		final int endX = MathHelper.floor(s.maxX + EPSILON) + 1;
+		final int endY = MathHelper.floor(s.maxY + EPSILON) + 1;
+		final int endZ = MathHelper.floor(s.maxZ + EPSILON) + 1;
+
+		final var pos = s.pos;
+		final var fullCube = VoxelShapes.fullCube();
+
+		BlockView chunk = null;
+		int chunkX = Integer.MIN_VALUE;
+		int chunkZ = Integer.MIN_VALUE;
+
+		for (int z = startZ; z <= endZ; z++) {
+			final int edgeZ = z == startZ || z == endZ ? 1 : 0;
+			for (int y = startY; y <= endY; y++) {
+				final int edgeY = y == startY || y == endY ? 1 : 0;
+				for (int x = startX; x <= endX; x++) {
+					final int edges = (x == startX || x == endX ? 1 : 0) + edgeY + edgeZ;
+					if (edges == 3) {
+						continue;
+					}
+
+					if (chunk == null || chunkX != x >> 4 || chunkZ != z >> 4) {
+						chunkX = x >> 4;
+						chunkZ = z >> 4;
+						chunk = world.getChunkAsView(chunkX, chunkZ);
+						if (chunk == null) {
+							continue;
+						}
+					}
+
+					pos.set(x, y, z);
+					final var state = chunk.getBlockState(pos);
+
+					if (edges == 1 && !state.exceedsCube() || edges == 2 && !state.isOf(Blocks.MOVING_PISTON)) {
+						continue;
+					}
+
+					final var shape = state.getCollisionShape(world, pos, context);
+
+					if (shape == fullCube) {
+						s.scanned++;
+						if (s.queryIntersects(x, y, z, x + 1, y + 1, z + 1)
+								&& accept(s, mode, x, y, z, x + 1, y + 1, z + 1)) {
+							return true;
+						}
+						continue;
+					}
+
+					if (shape.isEmpty()) {
+						continue;
+					}
+
+					final double[] boxes = boxes(state, shape);
+					boolean matched = false;
+					s.scanned += boxes.length / 6;
+
+					for (int i = 0; i < boxes.length; i += 6) {
+						final double minX = boxes[i] + x;
+						final double minY = boxes[i + 1] + y;
+						final double minZ = boxes[i + 2] + z;
+						final double maxX = boxes[i + 3] + x;
+						final double maxY = boxes[i + 4] + y;
+						final double maxZ = boxes[i + 5] + z;
+
+						if (!s.queryIntersects(minX, minY, minZ, maxX, maxY, maxZ)) {
+							continue;
+						}
+
+						if (!matched) {
+							if (!matchesAnywhere(s, shape, boxes, x, y, z)) {
+								break;
+							}
+							matched = true;
+						}
+
+						if (accept(s, mode, minX, minY, minZ, maxX, maxY, maxZ)) {
+							return true;
+						}
+					}
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Accepts a box colliding with the query.
+	 *
+	 * @return true to end the scan.
+	 */
+	private static boolean accept(final Scratch s, final int mode, final double minX, final double minY,
+			final double minZ, final double maxX, final double maxY, final double maxZ) {
+		switch (mode) {
+			case MODE_GROUND -> s.max = Math.max(s.max, maxY);
+			case MODE_FIT -> {
+				if (!s.boxIntersects(minX, minY, minZ, maxX, maxY, maxZ)) {
+					s.max = Math.min(s.max, minY);
+					break;
+				}
+				// Mirrors Box#offset
+				final double offset = maxY - s.min;
+				s.boxMinY += offset;
+				s.boxMaxY += offset;
+				s.min = maxY;
+			}
+			case MODE_CLEAR -> {
+				return true;
+			}
+			default -> throw new AssertionError(mode);
+		}
+		return false;
 	}
 
-	private static Stream<VoxelShape> collisionStream(Entity entity, Box box) {
-		return StreamSupport.stream(entity.getWorld().getBlockCollisions(entity, box).spliterator(), false);
+	/**
+	 * Equivalent of the {@link VoxelShapes#matchesAnywhere} check done by the
+	 * vanilla spliterator for shapes that aren't a full cube.
+	 * <p>
+	 * Any box overlapping the query by more than the tolerance trivially
+	 * matches. Only slivers within the tolerance fall back to the exact, but
+	 * allocating, vanilla check.
+	 * </p>
+	 */
+	private static boolean matchesAnywhere(final Scratch s, final VoxelShape shape, final double[] boxes, final int x,
+			final int y, final int z) {
+		boolean sliver = false;
+		for (int i = 0; i < boxes.length; i += 6) {
+			final double minX = boxes[i] + x;
+			final double minY = boxes[i + 1] + y;
+			final double minZ = boxes[i + 2] + z;
+			final double maxX = boxes[i + 3] + x;
+			final double maxY = boxes[i + 4] + y;
+			final double maxZ = boxes[i + 5] + z;
+
+			if (!s.queryIntersects(minX, minY, minZ, maxX, maxY, maxZ)) {
+				continue;
+			}
+
+			if (Math.min(maxX, s.maxX) - Math.max(minX, s.minX) >= EPSILON
+					&& Math.min(maxY, s.maxY) - Math.max(minY, s.minY) >= EPSILON
+					&& Math.min(maxZ, s.maxZ) - Math.max(minZ, s.minZ) >= EPSILON) {
+				return true;
+			}
+			sliver = true;
+		}
+
+		return sliver && VoxelShapes.matchesAnywhere(shape.offset(x, y, z),
+				VoxelShapes.cuboid(s.minX, s.minY, s.minZ, s.maxX, s.maxY, s.maxZ), BooleanBiFunction.AND);
+	}
+
+	/**
+	 * Gets the bounding boxes of the shape as a flat array of
+	 * {@code minX, minY, minZ, maxX, maxY, maxZ} tuples, relative to the block.
+	 * <p>
+	 * Cached per state as long as the state keeps returning the same shape
+	 * instance, which holds for full cubes, slabs, stairs and nearly everything
+	 * else. Shapes that are rebuilt on every call simply replace the entry.
+	 * </p>
+	 */
+	private static double[] boxes(final BlockState state, final VoxelShape shape) {
+		final var cache = BoxCache.entries;
+		final int id = Block.getRawIdFromState(state);
+
+		if (id < cache.length) {
+			final var entry = cache[id];
+			if (entry != null && entry.shape == shape) {
+				return entry.boxes;
+			}
+		}
+
+		final double[] boxes = flatten(shape);
+
+		if (id < cache.length) {
+			cache[id] = new BoxCache(shape, boxes);
+		}
+
+		return boxes;
 	}
 
-	private static Iterable<VoxelShape> collisions(Entity entity, Box box) {
-		return entity.getWorld().getBlockCollisions(entity, box);
+	private static double[] flatten(final VoxelShape shape) {
+		final var list = shape.getBoundingBoxes();
+		final double[] boxes = new double[list.size() * 6];
+		int i = 0;
+		for (final var box : list) {
+			boxes[i++] = box.minX;
+			boxes[i++] = box.minY;
+			boxes[i++] = box.minZ;
+			boxes[i++] = box.maxX;
+			boxes[i++] = box.maxY;
+			boxes[i++] = box.maxZ;
+		}
+		return boxes;
 	}
 
 	public record FittingPosition(double y, EntityPose pose) {
 	}
+
+	/**
+	 * @param height     The height of the entity above the seat.
+	 * @param seatOffset The offset to apply to the seat's Y for the entity to
+	 *                   appear at the same height regardless of scale.
+	 */
+	public record SittingHeight(double height, double seatOffset) {
+	}
+
+	/**
+	 * Immutable, so that it can be published across threads through a plain
+	 * array store.
+	 */
+	private record SittingMemo(EntityType<?> type, EntityType<?> vehicle, int bits, SittingHeight height) {
+	}
+
+	/**
+	 * Cached boxes of a shape. Immutable so that entries can be published across
+	 * threads through a plain array store.
+	 */
+	private record BoxCache(VoxelShape shape, double[] boxes) {
+		// Registries are frozen long before the first collision query.
+		static final BoxCache[] entries = new BoxCache[Block.STATE_IDS.size()];
+	}
+
+	/**
+	 * Per-thread scratch state of a query.
+	 */
+	static final class Scratch {
+		final BlockPos.Mutable pos = new BlockPos.Mutable();
+
+		/** The query box. */
+		double minX, minY, minZ, maxX, maxY, maxZ;
+		/** The box being fitted. */
+		double boxMinX, boxMinY, boxMinZ, boxMaxX, boxMaxY, boxMaxZ;
+		/** Results of the query. */
+		double min, max;
+		/** Boxes looked at since last reset, for {@link SeatEvents.DismountFit}. */
+		int scanned;
+
+		/** Mirrors {@link CollisionUtil#box(double, double, double, double, double)} */
+		void setQuery(final double x, final double y, final double z, double w, final double my) {
+			w /= 2;
+			setQuery(x - w, y, z - w, x + w, my, z + w);
+		}
+
+		/** Mirrors the {@link Box} constructor. */
+		void setQuery(final double x1, final double y1, final double z1, final double x2, final double y2,
+				final double z2) {
+			this.minX = Math.min(x1, x2);
+			this.minY = Math.min(y1, y2);
+			this.minZ = Math.min(z1, z2);
+			this.maxX = Math.max(x1, x2);
+			this.maxY = Math.max(y1, y2);
+			this.maxZ = Math.max(z1, z2);
+		}
+
+		/** Mirrors the {@link Box} constructor. */
+		void setBox(final double x1, final double y1, final double z1, final double x2, final double y2,
+				final double z2) {
+			this.boxMinX = Math.min(x1, x2);
+			this.boxMinY = Math.min(y1, y2);
+			this.boxMinZ = Math.min(z1, z2);
+			this.boxMaxX = Math.max(x1, x2);
+			this.boxMaxY = Math.max(y1, y2);
+			this.boxMaxZ = Math.max(z1, z2);
+		}
+
+		/** Mirrors {@link Box#intersects(double, double, double, double, double, double)} */
+		boolean queryIntersects(final double minX, final double minY, final double minZ, final double maxX,
+				final double maxY, final double maxZ) {
+			return this.minX < maxX && this.maxX > minX && this.minY < maxY && this.maxY > minY && this.minZ < maxZ
+					&& this.maxZ > minZ;
+		}
+
+		/** Mirrors {@link Box#intersects(double, double, double, double, double, double)} */
+		boolean boxIntersects(final double minX, final double minY, final double minZ, final double maxX,
+				final double maxY, final double maxZ) {
+			return minX < this.boxMaxX && maxX > this.boxMinX && minY < this.boxMaxY && maxY > this.boxMinY
+					&& minZ < this.boxMaxZ && maxZ > this.boxMinZ;
+		}
+	}
 }
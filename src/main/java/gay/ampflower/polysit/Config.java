@@ -0,0 +1,200 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import com.mojang.logging.LogUtils;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.util.Identifier;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Server-side tunables, read from {@code config/polysit.properties}.
+ * <p>
+ * Missing keys fall back to their defaults, and the file is written out with
+ * every key on first start so that there's something to edit.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public final class Config {
+	private static final Logger logger = LogUtils.getLogger();
+
+	private static final String FILE_NAME = "polysit.properties";
+
+	/** Sits per second a player may attempt by using a block; 0 to disable. */
+	public static double useBlockRate = 4D;
+	/** Attempts a player may make in a burst by using a block. */
+	public static int useBlockBurst = 4;
+	/** Sits per second a player may attempt via /sit; 0 to disable. */
+	public static double commandRate = 2D;
+	/** Attempts a player may make in a burst via /sit. */
+	public static int commandBurst = 3;
+	/** Ticks to remember an obstructed seat for; 0 to disable. */
+	public static int rejectionTtl = 20;
+	/** Whether to record {@link SitMetrics}. */
+	public static boolean metrics = true;
+	/** Seconds between writing the metrics to the server directory; 0 to disable. */
+	public static int metricsDump = 300;
+	/** Whether sits are validated on the server thread or a worker pool. */
+	public static AsyncValidator.Mode validationMode = AsyncValidator.Mode.ADAPTIVE;
+	/** Microseconds of synchronous sits per tick before adaptive goes async. */
+	public static int validationBudget = 2000;
+	/** Threads of the validation pool, read each time a server starts. */
+	public static int validationThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+	/** Yaw updates per second a seat may send; 0 to disable. */
+	public static int yawRate = 10;
+	/** Network angle steps, of 1/256th of a turn, the yaw must move to be sent. */
+	public static int yawStep = 1;
+	/** Seats a world may hold at once; 0 for no limit. */
+	public static int maxSeatsPerWorld = 0;
+	/** Seats a chunk may hold at once; 0 for no limit. */
+	public static int maxSeatsPerChunk = 0;
+	/**
+	 * Whether the oldest seat is evicted at the limit, rather than refusing new
+	 * seats before any collision work.
+	 */
+	public static boolean evictSeats = false;
+	/** Whether entities are fitted into the world when getting off a vehicle. */
+	public static boolean dismountFit = true;
+	/** Entity types never fitted when getting off a vehicle. */
+	public static Set<Identifier> dismountSkipEntities = Set.of();
+	/** Vehicle types whose passengers are never fitted when getting off. */
+	public static Set<Identifier> dismountSkipVehicles = Set.of();
+	/** Whether players sit on {@link VirtualSeat}s rather than seat entities. */
+	public static boolean virtualSeats = false;
+
+	private Config() {
+	}
+
+	/**
+	 * Loads the config from the config directory, writing the defaults if the file
+	 * doesn't exist yet.
+	 */
+	public static void load() {
+		final Path path = FabricLoader.getInstance().getConfigDir().resolve(FILE_NAME);
+		final var properties = new Properties();
+
+		if (Files.exists(path)) {
+			try (Reader reader = Files.newBufferedReader(path)) {
+				properties.load(reader);
+			} catch (IOException ioe) {
+				logger.warn("Failed to read {}, using defaults", path, ioe);
+			}
+		}
+
+		useBlockRate = getDouble(properties, "useBlock.rate", useBlockRate);
+		useBlockBurst = getInt(properties, "useBlock.burst", useBlockBurst);
+		commandRate = getDouble(properties, "command.rate", commandRate);
+		commandBurst = getInt(properties, "command.burst", commandBurst);
+		rejectionTtl = getInt(properties, "rejection.ttl", rejectionTtl);
+		metrics = getBoolean(properties, "metrics.enabled", metrics);
+		metricsDump = getInt(properties, "metrics.dumpInterval", metricsDump);
+		validationMode = getMode(properties, "validation.mode", validationMode);
+		validationBudget = getInt(properties, "validation.budgetMicros", validationBudget);
+		validationThreads = getInt(properties, "validation.threads", validationThreads);
+		yawRate = getInt(properties, "yaw.rate", yawRate);
+		yawStep = getInt(properties, "yaw.step", yawStep);
+		maxSeatsPerWorld = getInt(properties, "seats.maxPerWorld", maxSeatsPerWorld);
+		maxSeatsPerChunk = getInt(properties, "seats.maxPerChunk", maxSeatsPerChunk);
+		evictSeats = getBoolean(properties, "seats.evict", evictSeats);
+		dismountFit = getBoolean(properties, "dismount.fit", dismountFit);
+		dismountSkipEntities = getIdentifiers(properties, "dismount.skipEntities", dismountSkipEntities);
+		dismountSkipVehicles = getIdentifiers(properties, "dismount.skipVehicles", dismountSkipVehicles);
+		virtualSeats = getBoolean(properties, "seats.virtual", virtualSeats);
+
+		if (!Files.exists(path)) {
+			try (Writer writer = Files.newBufferedWriter(path)) {
+				properties.store(writer, "Polysit");
+			} catch (IOException ioe) {
+				logger.warn("Failed to write {}", path, ioe);
+			}
+		}
+	}
+
+	private static double getDouble(final Properties properties, final String key, final double def) {
+		final var value = properties.getProperty(key);
+		if (value != null) {
+			try {
+				return Double.parseDouble(value.trim());
+			} catch (NumberFormatException nfe) {
+				logger.warn("Invalid number for {}: {}", key, value);
+			}
+		}
+		properties.setProperty(key, Double.toString(def));
+		return def;
+	}
+
+	private static AsyncValidator.Mode getMode(final Properties properties, final String key,
+			final AsyncValidator.Mode def) {
+		final var value = properties.getProperty(key);
+		if (value != null) {
+			try {
+				return AsyncValidator.Mode.of(value);
+			} catch (IllegalArgumentException iae) {
+				logger.warn("Invalid mode for {}: {}", key, value);
+			}
+		}
+		properties.setProperty(key, def.name().toLowerCase(Locale.ROOT));
+		return def;
+	}
+
+	private static boolean getBoolean(final Properties properties, final String key, final boolean def) {
+		final var value = properties.getProperty(key);
+		if (value != null) {
+			return Boolean.parseBoolean(value.trim());
+		}
+		properties.setProperty(key, Boolean.toString(def));
+		return def;
+	}
+
+	private static Set<Identifier> getIdentifiers(final Properties properties, final String key,
+			final Set<Identifier> def) {
+		final var value = properties.getProperty(key);
+		if (value == null) {
+			properties.setProperty(key, String.join(",", def.stream().map(Identifier::toString).toList()));
+			return def;
+		}
+
+		final var identifiers = new HashSet<Identifier>();
+		for (final var entry : value.split(",")) {
+			if (entry.isBlank()) {
+				continue;
+			}
+			final var identifier = Identifier.tryParse(entry.trim());
+			if (identifier == null) {
+				logger.warn("Invalid identifier for {}: {}", key, entry);
+			} else {
+				identifiers.add(identifier);
+			}
+		}
+		return Set.copyOf(identifiers);
+	}
+
+	private static int getInt(final Properties properties, final String key, final int def) {
+		final var value = properties.getProperty(key);
+		if (value != null) {
+			try {
+				return Integer.parseInt(value.trim());
+			} catch (NumberFormatException nfe) {
+				logger.warn("Invalid integer for {}: {}", key, value);
+			}
+		}
+		properties.setProperty(key, Integer.toString(def));
+		return def;
+	}
+}
@@ -7,6 +7,7 @@
 package gay.ampflower.polysit;
 
 import gay.ampflower.polysit.mixin.AccessorLivingEntity;
+import it.unimi.dsi.fastutil.HashCommon;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 
@@ -36,12 +37,21 @@ import net.minecraft.entity.LivingEntity;
  * y(t), tzero, b=0.08, decay=0.98;
  * </pre>
  * </p>
+ * <p>
+ * Heights are memoised across entities by the velocity's float bits, as nearly
+ * every entity shares the same handful of jump velocities. The velocity itself
+ * is read every time, as it depends on the block underneath, status effects
+ * and attributes, none of which are worth tracking per entity.
+ * </p>
  *
  * @author Moxie Amethyst
  * @author Ampflower
  * @since 0.5
  **/
 public final class JumpHeightUtil {
+	/** Must be a power of two. */
+	private static final int MEMO_SIZE = 64;
+	private static final Memo[] memo = new Memo[MEMO_SIZE];
 
 	public static double maxJumpHeight(Entity entity) {
 		if (entity instanceof LivingEntity livingEntity) {
@@ -54,6 +64,27 @@ public final class JumpHeightUtil {
 		return maxJumpHeight(((AccessorLivingEntity) entity).invokeGetJumpVelocity());
 	}
 
+	/**
+	 * Gets the maximum height for a jump using a given velocity, memoised by the
+	 * float bits of the velocity.
+	 *
+	 * @param velocity The Y velocity to find the maximum relative Y of.
+	 * @return The maximum Y of the velocity.
+	 */
+	public static double maxJumpHeight(float velocity) {
+		final int bits = Float.floatToRawIntBits(velocity);
+		final int slot = HashCommon.mix(bits) & (MEMO_SIZE - 1);
+
+		final var entry = memo[slot];
+		if (entry != null && entry.bits == bits) {
+			return entry.height;
+		}
+
+		final double height = maxJumpHeight((double) velocity);
+		memo[slot] = new Memo(bits, height);
+		return height;
+	}
+
 	/**
 	 * Gets the maximum height for a jump using a given velocity.
 	 *
@@ -85,4 +116,11 @@ public final class JumpHeightUtil {
 	public static double zeroTangent(double velocity) {
 		return 49.4983 * Math.log(Math.fma(0.25768759333570745, velocity, 1.010135365875973));
 	}
+
+	/**
+	 * Immutable, so that it can be published across threads through a plain
+	 * array store.
+	 */
+	private record Memo(int bits, double height) {
+	}
 }
@@ -10,35 +10,40 @@ import com.mojang.brigadier.Command;
 import com.mojang.logging.LogUtils;
 import eu.pb4.polymer.core.api.entity.PolymerEntityUtils;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.event.player.UseBlockCallback;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
 import net.minecraft.SharedConstants;
 import net.minecraft.block.BedBlock;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.FenceBlock;
-import net.minecraft.block.FenceGateBlock;
 import net.minecraft.block.ShapeContext;
-import net.minecraft.block.SlabBlock;
-import net.minecraft.block.StairsBlock;
 import net.minecraft.block.enums.BedPart;
-import net.minecraft.block.enums.BlockHalf;
-import net.minecraft.block.enums.SlabType;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.SpawnGroup;
 import net.minecraft.registry.Registries;
 import net.minecraft.registry.Registry;
+import net.minecraft.resource.ResourceType;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
 import net.minecraft.util.ActionResult;
+import net.minecraft.util.Formatting;
 import net.minecraft.util.Hand;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
-import net.minecraft.util.math.Vec3i;
 import net.minecraft.world.BlockView;
+import net.minecraft.world.CollisionView;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
 import static net.minecraft.server.command.CommandManager.literal;
@@ -52,6 +57,9 @@ import static net.minecraft.server.command.CommandManager.literal;
 public class Main {
 	private static final Logger logger = LogUtils.getLogger();
 
+	/** Channel for the sit/stand toggle sent by the client's keybind. */
+	public static final Identifier SIT_CHANNEL = new Identifier("polysit", "sit");
+
 	public static final double HORIZONTAL_CENTER_OFFSET = 0.5D;
 	public static final double UPDATE_HEIGHT_OFFSET = 0.20D;
 	public static final double VERTICAL_SLAB_OFFSET;
@@ -122,9 +130,61 @@ public class Main {
 	 * Setups a {@link UseBlockCallback} to allow for one to sit on stairs & slabs.
 	 */
 	public static void main() {
+		Config.load();
+		AdmissionControl.configure();
+
+		ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new SeatDefinitionLoader());
+
+		// Registries are frozen by the time the server starts, and tags may change on
+		// every reload.
+		ServerLifecycleEvents.SERVER_STARTED.register(server -> SeatTable.rebuild());
+		ServerLifecycleEvents.SERVER_STARTED.register(server -> AsyncValidator.start());
+		ServerLifecycleEvents.SERVER_STOPPING.register(AsyncValidator::stop);
+		ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+			if (success) {
+				SeatTable.rebuild();
+			}
+		});
+
+		ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+			if (entity instanceof SeatEntity seat) {
+				SeatIndex.of(world).add(seat);
+			}
+		});
+		ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+			if (entity instanceof SeatEntity seat) {
+				SeatIndex.of(world).remove(seat);
+
+				final var reason = seat.getRemovalReason();
+				if (reason != null && reason.shouldDestroy()) {
+					SitMetrics.seatDiscarded();
+					SeatEvents.SeatDiscard.emit(seat, reason);
+				}
+			} else if (entity instanceof ServerPlayerEntity player) {
+				final var virtual = VirtualSeat.of(player);
+				if (virtual != null) {
+					virtual.remove();
+				}
+			}
+		});
+		ServerTickEvents.END_SERVER_TICK.register(SitMetrics::tick);
+		ServerTickEvents.START_WORLD_TICK.register(world -> AsyncValidator.of(world).commit());
+		ServerTickEvents.END_WORLD_TICK.register(world -> AsyncValidator.of(world).dispatch());
+		ServerTickEvents.END_WORLD_TICK.register(world -> SeatIndex.of(world).tick());
+		// Seats don't poll for their passenger, so make sure death dismounts.
+		ServerLivingEntityEvents.AFTER_DEATH.register((entity, damageSource) -> {
+			if (entity.getVehicle() instanceof SeatEntity) {
+				entity.stopRiding();
+			}
+			final var virtual = VirtualSeat.of(entity);
+			if (virtual != null) {
+				virtual.remove();
+			}
+		});
+
 		UseBlockCallback.EVENT.register((player, world, hand, hitResult) -> {
 			if (!world.isClient && hand == Hand.MAIN_HAND
-					&& (player.isOnGround() || player.hasVehicle() || player.isCreative())
+					&& (player.isOnGround() || isRiding(player) || player.isCreative())
 					&& player.getStackInHand(hand).isEmpty() && hitResult.getSide() != Direction.DOWN) {
 				var pos = hitResult.getBlockPos();
 
@@ -133,14 +193,41 @@ public class Main {
 				}
 
 				final var block = world.getBlockState(pos);
-				final var topHeight = getTopHeight(world, block, pos, player);
-				final var relative = pos.getY() + topHeight - getEffectiveEntityY(player);
 
-				if (relative > JumpHeightUtil.maxJumpHeight(player)) {
+				// Fast reject for doors, chests, levers and the like.
+				if (!SeatTable.current().isUsable(block)) {
+					return ActionResult.PASS;
+				}
+
+				// Drop held-down clicks before running the pipeline.
+				if (!AdmissionControl.USE_BLOCK.tryAcquire(player)) {
 					return ActionResult.PASS;
 				}
 
-				return sit(world, block, pos, player, topHeight, false);
+				final long start = SitMetrics.start();
+				final var event = SeatEvents.SitRequest.start();
+
+				// Recently refused, skip the collision work entirely.
+				if (isRejected(world, block, pos, player)) {
+					SitMetrics.record(SitMetrics.Source.USE_BLOCK, SitOutcome.CACHED, start);
+					SeatEvents.SitRequest.complete(event, SitMetrics.Source.USE_BLOCK, block, SitOutcome.CACHED);
+					return SitOutcome.CACHED.result();
+				}
+
+				final var validator = AsyncValidator.of((ServerWorld) world);
+
+				if (player instanceof ServerPlayerEntity serverPlayer
+						&& validator.submit(serverPlayer, block, pos, start, event)) {
+					return ActionResult.SUCCESS;
+				}
+
+				final long cost = System.nanoTime();
+				final var outcome = sitOnBlock(world, block, pos, player);
+				validator.observe(System.nanoTime() - cost);
+
+				SitMetrics.record(SitMetrics.Source.USE_BLOCK, outcome, start);
+				SeatEvents.SitRequest.complete(event, SitMetrics.Source.USE_BLOCK, block, outcome);
+				return outcome.result();
 			}
 			return ActionResult.PASS;
 		});
@@ -150,52 +237,159 @@ public class Main {
 				var source = context.getSource();
 				var entity = source.getEntityOrThrow();
 
-				if (entity.hasVehicle()) {
-					entity.stopRiding();
-					return Command.SINGLE_SUCCESS;
+				// Silently drop spam, such as from a held keybind.
+				if (!isRiding(entity) && !AdmissionControl.COMMAND.tryAcquire(entity)) {
+					return 0;
 				}
 
-				BlockPos pos;
-				var world = entity.getWorld();
-				var ground = CollisionUtil.ground(entity);
+				final var error = toggleSit(entity);
 
-				if (entity.getY() - ground > 1 || entity.fallDistance > 0.15F) {
-					source.sendError(Text.of("It appears you're trying to sit on air."));
+				if (error != null) {
+					source.sendError(error);
 					return 0;
 				}
 
-				// Check if floored Y == ground, and move down if yes.
-				if (ground % 1 == 0 || isAir(entity.getBlockStateAtPos(), entity.getBlockPos(), entity)) {
-					pos = blockPosOfFloored(entity.getX(), ground - 1, entity.getZ());
-				} else {
-					pos = blockPosOfFloored(entity.getX(), ground, entity.getZ());
-				}
-				var state = world.getBlockState(pos);
-				var topHeight = getTopHeight(world, state, pos, entity);
+				return Command.SINGLE_SUCCESS;
+			}));
 
-				// Skip if it's not solid or taller than jump height.
-				if (topHeight < 0.D) {
-					source.sendError(Text.of("It appears you're trying to sit on air."));
-					return 0;
-				}
+			dispatcher.register(literal("polysit").requires(source -> source.hasPermissionLevel(2))
+					.then(literal("stats").executes(context -> {
+						final var source = context.getSource();
+						for (final var line : SitMetrics.report(source.getServer())) {
+							source.sendFeedback(() -> Text.literal(line), false);
+						}
+						return Command.SINGLE_SUCCESS;
+					})));
+		});
 
-				if (sit(world, state, pos, entity, topHeight, true).isAccepted()) {
-					return Command.SINGLE_SUCCESS;
+		// The same as /sit, without the chat command round trip.
+		ServerPlayNetworking.registerGlobalReceiver(SIT_CHANNEL, (server, player, handler, buf, responseSender) -> {
+			// Runs on the network thread; only hand off what'll be acted on.
+			if (player.isRemoved() || (!isRiding(player) && !AdmissionControl.COMMAND.tryAcquire(player))) {
+				return;
+			}
+
+			server.execute(() -> {
+				if (player.isRemoved()) {
+					return;
 				}
 
-				double x = entity.getX();
-				double y = ground + VERTICAL_SOLID_OFFSET;
-				double z = entity.getZ();
+				final var error = toggleSit(player);
 
-				if (sit(world, entity, x, y, z, ground).isAccepted()) {
-					return Command.SINGLE_SUCCESS;
+				if (error != null) {
+					player.sendMessage(Text.empty().append(error).formatted(Formatting.RED));
 				}
+			});
+		});
+	}
 
-				source.sendError(Text.of("You can't sit here, your seat is obstructed."));
+	/**
+	 * Stands the entity up if it's riding anything, else tries to sit on the block
+	 * underneath, falling back to sitting on the ground.
+	 *
+	 * @return null if successful, else why the entity couldn't sit.
+	 */
+	@Nullable
+	public static Text toggleSit(@NotNull final Entity entity) {
+		if (entity.hasVehicle()) {
+			entity.stopRiding();
+			return null;
+		}
 
-				return 0;
-			}));
-		});
+		final var virtual = VirtualSeat.of(entity);
+		if (virtual != null) {
+			virtual.dismount();
+			return null;
+		}
+
+		final long start = SitMetrics.start();
+		final var event = SeatEvents.SitRequest.start();
+
+		BlockPos pos;
+		var world = entity.getWorld();
+		var ground = CollisionUtil.ground(entity);
+
+		if (entity.getY() - ground > 1 || entity.fallDistance > 0.15F) {
+			record(start, event, null, SitOutcome.AIR);
+			return Text.of("It appears you're trying to sit on air.");
+		}
+
+		// Check if floored Y == ground, and move down if yes.
+		if (ground % 1 == 0 || isAir(entity.getBlockStateAtPos(), entity.getBlockPos(), entity)) {
+			pos = blockPosOfFloored(entity.getX(), ground - 1, entity.getZ());
+		} else {
+			pos = blockPosOfFloored(entity.getX(), ground, entity.getZ());
+		}
+		var state = world.getBlockState(pos);
+
+		// A recently refused block goes straight to the ground.
+		if (!isRejected(world, state, pos, entity)) {
+			var topHeight = getTopHeight(world, state, pos, entity);
+
+			// Skip if it's not solid or taller than jump height.
+			if (topHeight < 0.D) {
+				record(start, event, state, SitOutcome.AIR);
+				return Text.of("It appears you're trying to sit on air.");
+			}
+
+			final var outcome = trySit(world, state, pos, entity, topHeight, true);
+
+			// A rejected block is retried as the ground, which is recorded instead.
+			if (outcome.result().isAccepted()) {
+				record(start, event, state, outcome);
+				return null;
+			}
+		}
+
+		double x = entity.getX();
+		double y = ground + VERTICAL_SOLID_OFFSET;
+		double z = entity.getZ();
+
+		if (record(start, event, state, trySit(world, entity, x, y, z, ground)).result().isAccepted()) {
+			return null;
+		}
+
+		return Text.of("You can't sit here, your seat is obstructed.");
+	}
+
+	/**
+	 * @return Whether the entity is riding anything, including a virtual seat.
+	 */
+	public static boolean isRiding(@NotNull final Entity entity) {
+		return entity.hasVehicle() || VirtualSeat.of(entity) != null;
+	}
+
+	private static SitOutcome record(final long start, @Nullable final SeatEvents.SitRequest event,
+			@Nullable final BlockState state, final SitOutcome outcome) {
+		SitMetrics.record(SitMetrics.Source.COMMAND, outcome, start);
+		SeatEvents.SitRequest.complete(event, SitMetrics.Source.COMMAND, state, outcome);
+		return outcome;
+	}
+
+	/**
+	 * Sits on the block as if it were used, checking that it's within jump height.
+	 */
+	public static SitOutcome sitOnBlock(World world, BlockState state, BlockPos pos, Entity entity) {
+		final var topHeight = getTopHeight(world, state, pos, entity);
+		final var relative = pos.getY() + topHeight - getEffectiveEntityY(entity);
+
+		if (relative > JumpHeightUtil.maxJumpHeight(entity)) {
+			return SitOutcome.TOO_HIGH;
+		}
+
+		return trySit(world, state, pos, entity, topHeight, false);
+	}
+
+	/**
+	 * Checked before any collision work, as a refusal is cheaper to look up than
+	 * to find again.
+	 *
+	 * @return true if the entity was recently refused the block.
+	 * @see RejectionCache
+	 */
+	private static boolean isRejected(World world, BlockState state, BlockPos pos, Entity entity) {
+		return world instanceof ServerWorld serverWorld
+				&& RejectionCache.of(serverWorld).isRejected(entity, pos, state, world.getTime());
 	}
 
 	public static double getEffectiveEntityY(Entity entity) {
@@ -212,11 +406,7 @@ public class Main {
 	}
 
 	public static double getTopHeight(BlockView world, BlockState state, BlockPos pos, Entity entity) {
-		if (state.isAir()) {
-			return -1.D;
-		}
-
-		return state.getCollisionShape(world, pos, ShapeContext.of(entity)).getMax(Direction.Axis.Y);
+		return SeatTable.current().getTopHeight(world, state, pos, entity);
 	}
 
 	private static boolean isAir(BlockState state, BlockPos pos, Entity entity) {
@@ -225,37 +415,24 @@ public class Main {
 
 	public static ActionResult sit(@NotNull final World world, @NotNull final BlockState state,
 			@NotNull final BlockPos pos, @NotNull final Entity entity, final double topHeight, final boolean command) {
-		final double minY = pos.getY() + topHeight;
+		return trySit(world, state, pos, entity, topHeight, command).result();
+	}
 
-		if (state.getBlock() instanceof StairsBlock && state.get(StairsBlock.HALF) == BlockHalf.BOTTOM) {
-			var direction = state.get(StairsBlock.FACING).getOpposite();
-			// Note: Outer vs. Inner for the same side will require the same offset.
-			var corner = switch (state.get(StairsBlock.SHAPE)) {
-				case INNER_LEFT, OUTER_LEFT -> direction.rotateYCounterclockwise().getVector();
-				case INNER_RIGHT, OUTER_RIGHT -> direction.rotateYClockwise().getVector();
-				default -> Vec3i.ZERO;
-			};
+	public static SitOutcome trySit(@NotNull final World world, @NotNull final BlockState state,
+			@NotNull final BlockPos pos, @NotNull final Entity entity, final double topHeight, final boolean command) {
+		final var seat = SeatTable.current().getSeat(state);
 
-			double x = pos.getX() + HORIZONTAL_CENTER_OFFSET + ((direction.getOffsetX() + corner.getX()) * .2D);
-			double y = pos.getY() + VERTICAL_SLAB_OFFSET;
-			double z = pos.getZ() + HORIZONTAL_CENTER_OFFSET + ((direction.getOffsetZ() + corner.getZ()) * .2D);
-			return sit(world, entity, x, y, z, minY);
+		if (seat == null || !(command ? seat.isCommandUsable() : seat.isUsable())) {
+			return SitOutcome.NOT_A_SEAT;
 		}
 
-		if (state.getBlock() instanceof SlabBlock && state.get(SlabBlock.TYPE) == SlabType.BOTTOM) {
-			double x = pos.getX() + HORIZONTAL_CENTER_OFFSET;
-			double y = pos.getY() + VERTICAL_SLAB_OFFSET;
-			double z = pos.getZ() + HORIZONTAL_CENTER_OFFSET;
-			return sit(world, entity, x, y, z, minY);
-		}
+		if (seat.isBed()) {
+			final var refusal = checkBed(world, command || !(entity instanceof ServerPlayerEntity));
+			if (refusal != null) {
+				return refusal;
+			}
 
-		if (state.getBlock() instanceof BedBlock && world.isDay()) {
 			if (!command && entity instanceof ServerPlayerEntity player) {
-				// Let the bed explode as it should normally.
-				if (!BedBlock.isBedWorking(world)) {
-					return ActionResult.PASS;
-				}
-
 				BlockPos head;
 
 				// Get the head of the bed block to mimic vanilla.
@@ -273,39 +450,224 @@ public class Main {
 					player.setSpawnPoint(world.getRegistryKey(), head, player.getYaw(), false, true);
 				}
 			}
+		}
 
-			double x = pos.getX() + HORIZONTAL_CENTER_OFFSET;
-			double y = pos.getY() + getTopHeight(world, state, pos, entity) + VERTICAL_SOLID_OFFSET;
-			double z = pos.getZ() + HORIZONTAL_CENTER_OFFSET;
-			return sit(world, entity, x, y, z, minY);
+		final var cache = world instanceof ServerWorld serverWorld ? RejectionCache.of(serverWorld) : null;
+
+		double seatY = seat.y();
+		if (Double.isNaN(seatY)) {
+			// The shape depends on the world.
+			seatY = getTopHeight(world, state, pos, entity) + VERTICAL_SOLID_OFFSET;
 		}
 
-		if (command && (state.getBlock() instanceof FenceBlock || state.getBlock() instanceof FenceGateBlock)) {
-			double x = pos.getX() + HORIZONTAL_CENTER_OFFSET;
-			double y = pos.getY() + VERTICAL_FENCE_OFFSET;
-			double z = pos.getZ() + HORIZONTAL_CENTER_OFFSET;
-			return sit(world, entity, x, y, z, minY);
+		final double minY = pos.getY() + topHeight;
+		final double x = pos.getX() + seat.x();
+		final double y = pos.getY() + seatY;
+		final double z = pos.getZ() + seat.z();
+		final var outcome = trySit(world, entity, x, y, z, minY);
+
+		if (cache != null && (outcome == SitOutcome.OBSTRUCTED || outcome == SitOutcome.UNSUPPORTED)) {
+			cache.reject(entity, pos, state, world.getTime());
 		}
 
-		return ActionResult.PASS;
+		return outcome;
+	}
+
+	/**
+	 * The rules for sitting on a bed: only during the day, and, unless by command,
+	 * not where the bed would explode as it should normally.
+	 *
+	 * @return The refusal, or null if the bed may be sat on.
+	 */
+	@Nullable
+	static SitOutcome checkBed(World world, boolean command) {
+		if (!world.isDay()) {
+			return SitOutcome.NOT_A_SEAT;
+		}
+
+		if (!command && !BedBlock.isBedWorking(world)) {
+			return SitOutcome.BED_EXPLODES;
+		}
+
+		return null;
 	}
 
 	public static ActionResult sit(World world, Entity entity, double seatX, double seatY, double seatZ, double minY) {
-		var seat = new SeatEntity(world, seatX, seatY, seatZ);
+		return trySit(world, entity, seatX, seatY, seatZ, minY).result();
+	}
 
-		if (seat.isDiscardable() || !CollisionUtil.isClear(entity, seat, minY)) {
-			seat.discard();
-			return ActionResult.PASS;
+	public static SitOutcome trySit(World world, Entity entity, double seatX, double seatY, double seatZ,
+			double minY) {
+		final var index = world instanceof ServerWorld serverWorld ? SeatIndex.of(serverWorld) : null;
+		SeatEntity existing = null;
+
+		if (index != null) {
+			final var support = blockPosOfFloored(seatX, seatY + VERTICAL_CHECK_OFFSET, seatZ);
+			final var virtual = index.findVirtual(support, seatX, seatZ, entity.getWidth());
+
+			if (virtual != null) {
+				return virtual.getRider() == entity ? SitOutcome.SEATED : SitOutcome.OCCUPIED;
+			}
+
+			existing = index.find(support, seatX, seatZ, entity.getWidth());
+
+			if (existing != null) {
+				final var passenger = existing.getFirstPassenger();
+				if (passenger == entity) {
+					return SitOutcome.SEATED;
+				}
+				// Someone's already sitting here.
+				if (passenger != null) {
+					return SitOutcome.OCCUPIED;
+				}
+			} else if (!Config.evictSeats && !index.hasRoom(support)) {
+				// Refused before any collision work; evicting waits until the seat fits.
+				return SitOutcome.LIMITED;
+			}
+		}
+
+		if (!SeatEntity.isSupported(world, seatX, seatY, seatZ)) {
+			return SitOutcome.UNSUPPORTED;
+		}
+
+		final double y = clearSeatY(entity, seatX, seatY, seatZ, minY);
+
+		if (Double.isNaN(y)) {
+			return SitOutcome.OBSTRUCTED;
+		}
+
+		return mount(world, index, existing, entity, seatX, y, seatZ);
+	}
+
+	/**
+	 * Recreates the seat of an entity that was sitting before, such as when a
+	 * player logs back in. The entity was already fitted to the seat back then, so
+	 * only support and occupancy are checked.
+	 */
+	static SitOutcome resit(ServerWorld world, Entity entity, double seatX, double seatY, double seatZ) {
+		final var index = SeatIndex.of(world);
+		final var support = blockPosOfFloored(seatX, seatY + VERTICAL_CHECK_OFFSET, seatZ);
+		final var existing = index.find(support, seatX, seatZ, entity.getWidth());
+
+		if ((existing != null && existing.hasPassengers())
+				|| index.findVirtual(support, seatX, seatZ, entity.getWidth()) != null) {
+			return SitOutcome.OCCUPIED;
+		}
+
+		if (existing == null && !Config.evictSeats && !index.hasRoom(support)) {
+			return SitOutcome.LIMITED;
 		}
 
+		if (!SeatEntity.isSupported(world, seatX, seatY, seatZ)) {
+			return SitOutcome.UNSUPPORTED;
+		}
+
+		return mount(world, index, existing, entity, seatX, seatY, seatZ);
+	}
+
+	static SitOutcome mount(World world, @Nullable SeatIndex index, @Nullable SeatEntity existing,
+			Entity entity, double x, double y, double z) {
+		// Players can see packets alone; everything else needs a real vehicle.
+		final boolean virtual = Config.virtualSeats && index != null && entity instanceof ServerPlayerEntity;
+
+		// Reuse the vacant seat rather than stacking another on top of it.
+		if (existing != null && index != null && !virtual) {
+			index.relocate(existing, x, y, z);
+			return entity.startRiding(existing) ? SitOutcome.SEATED : SitOutcome.FAILED;
+		}
+
+		if (index != null && !index.makeRoom(blockPosOfFloored(x, y + VERTICAL_CHECK_OFFSET, z))) {
+			return SitOutcome.LIMITED;
+		}
+
+		if (virtual) {
+			return VirtualSeat.seat((ServerWorld) world, index, (ServerPlayerEntity) entity, x, y, z);
+		}
+
+		var seat = new SeatEntity(world, x, y, z);
+
 		if (!world.spawnEntity(seat)) {
 			seat.discard();
-			return ActionResult.FAIL;
+			return SitOutcome.FAILED;
+		}
+
+		SitMetrics.seatSpawned();
+		SeatEvents.SeatSpawn.emit(seat);
+
+		if (!entity.startRiding(seat)) {
+			seat.discard();
+			return SitOutcome.FAILED;
+		}
+
+		return SitOutcome.SEATED;
+	}
+
+	/**
+	 * Validates a seat at the given position without creating it.
+	 *
+	 * @return The Y to spawn the seat at, or NaN if the seat would be discarded
+	 *         or obstructed.
+	 */
+	public static double validate(World world, Entity entity, double seatX, double seatY, double seatZ,
+			double minY) {
+		if (!SeatEntity.isSupported(world, seatX, seatY, seatZ)) {
+			return Double.NaN;
+		}
+
+		return clearSeatY(entity, seatX, seatY, seatZ, minY);
+	}
+
+	/**
+	 * The checks of {@link #sitOnBlock} that only read the world, in the same
+	 * order, for when the entity can't be asked: the jump from the ground up to
+	 * the block, the seat's support, then its clearance.
+	 *
+	 * @param groundY Where the entity stands, as by
+	 *                {@link #getEffectiveEntityY(Entity)}.
+	 * @param out     Receives the Y to spawn the seat at, at the index, when
+	 *                seated.
+	 * @return The planned outcome, where {@link SitOutcome#SEATED} still needs
+	 *         the seat to be mounted.
+	 */
+	static SitOutcome plan(CollisionView world, ShapeContext context, BlockPos pos, double topHeight,
+			double groundY, double jumpHeight, double seatX, double seatY, double seatZ, double width,
+			CollisionUtil.SittingHeight sitting, double[] out, int index) {
+		if (pos.getY() + topHeight - groundY > jumpHeight) {
+			return SitOutcome.TOO_HIGH;
+		}
+
+		if (!SeatEntity.isSupported(world, seatX, seatY, seatZ)) {
+			return SitOutcome.UNSUPPORTED;
 		}
 
-		entity.startRiding(seat);
+		final double y = clearSeatY(world, context, width, sitting, seatX, seatY, seatZ, pos.getY() + topHeight);
+
+		if (Double.isNaN(y)) {
+			return SitOutcome.OBSTRUCTED;
+		}
+
+		out[index] = y;
+		return SitOutcome.SEATED;
+	}
+
+	private static double clearSeatY(Entity entity, double seatX, double seatY, double seatZ, double minY) {
+		final long start = SitMetrics.start();
+		final double y = clearSeatY(entity.getWorld(), CollisionUtil.context(entity), entity.getWidth(),
+				CollisionUtil.getEffectiveSittingHeight(entity), seatX, seatY, seatZ, minY);
+
+		SitMetrics.IS_CLEAR.record(start);
+		return y;
+	}
+
+	private static double clearSeatY(CollisionView world, ShapeContext context, double width,
+			CollisionUtil.SittingHeight sitting, double seatX, double seatY, double seatZ, double minY) {
+		final double y = seatY + sitting.seatOffset();
+
+		if (!CollisionUtil.isClear(world, context, seatX, minY, seatZ, width, y + sitting.height())) {
+			return Double.NaN;
+		}
 
-		return ActionResult.SUCCESS;
+		return y;
 	}
 
 	public static <T extends Entity> EntityType<T> registerEntity(String id, EntityType.Builder<T> type) {
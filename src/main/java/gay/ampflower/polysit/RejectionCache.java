@@ -0,0 +1,186 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Per-world cache of recently rejected seats, keyed by entity, block position
+ * and block state, so that retrying an obstructed seat costs a hash lookup.
+ * <p>
+ * Entries live in a fixed ring, so the oldest is evicted once it fills up, and
+ * expire after {@link Config#rejectionTtl} ticks. A block change anywhere in
+ * the column of a seat, or the columns next to it, evicts the seat right away,
+ * as the rider may be wide enough to overlap them.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public final class RejectionCache {
+	/** Must be a power of two. */
+	private static final int CAPACITY = 256;
+
+	private final Long2IntOpenHashMap slots = new Long2IntOpenHashMap(CAPACITY);
+	/** Amount of entries that would be evicted by a change in the column. */
+	private final Long2IntOpenHashMap columns = new Long2IntOpenHashMap();
+
+	private final long[] hashes = new long[CAPACITY];
+	private final long[] positions = new long[CAPACITY];
+	private final long[] identities = new long[CAPACITY];
+	private final long[] expiries = new long[CAPACITY];
+	private final boolean[] live = new boolean[CAPACITY];
+
+	private int cursor;
+	private int size;
+
+	public RejectionCache() {
+		slots.defaultReturnValue(-1);
+	}
+
+	@NotNull
+	public static RejectionCache of(@NotNull ServerWorld world) {
+		return ((Holder) world).polysit$getRejectionCache();
+	}
+
+	/**
+	 * @return true if sitting at the given block was recently rejected for the
+	 *         entity, and nothing has changed since.
+	 */
+	public boolean isRejected(final Entity entity, final BlockPos pos, final BlockState state, final long now) {
+		if (size == 0) {
+			return false;
+		}
+
+		final long position = pos.asLong();
+		final long identity = identity(entity, state);
+		final int slot = slots.get(hash(position, identity));
+
+		if (slot < 0 || positions[slot] != position || identities[slot] != identity) {
+			return false;
+		}
+
+		if (expiries[slot] - now <= 0L) {
+			evict(slot);
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Remembers that sitting at the given block was rejected for the entity.
+	 */
+	public void reject(final Entity entity, final BlockPos pos, final BlockState state, final long now) {
+		final int ttl = Config.rejectionTtl;
+		if (ttl <= 0) {
+			return;
+		}
+
+		final long position = pos.asLong();
+		final long identity = identity(entity, state);
+		final long hash = hash(position, identity);
+
+		final int existing = slots.get(hash);
+		if (existing >= 0) {
+			evict(existing);
+		}
+
+		final int slot = cursor;
+		cursor = (cursor + 1) & (CAPACITY - 1);
+
+		if (live[slot]) {
+			evict(slot);
+		}
+
+		hashes[slot] = hash;
+		positions[slot] = position;
+		identities[slot] = identity;
+		expiries[slot] = now + ttl;
+		live[slot] = true;
+		slots.put(hash, slot);
+		size++;
+		adjustColumns(position, 1);
+	}
+
+	/**
+	 * Evicts every rejection that may have been caused by the block at the given
+	 * position.
+	 */
+	public void onBlockChanged(final BlockPos pos) {
+		if (size == 0) {
+			return;
+		}
+
+		final int x = pos.getX();
+		final int z = pos.getZ();
+
+		if (!columns.containsKey(ChunkPos.toLong(x, z))) {
+			return;
+		}
+
+		for (int slot = 0; slot < CAPACITY; slot++) {
+			if (live[slot] && Math.abs(BlockPos.unpackLongX(positions[slot]) - x) <= 1
+					&& Math.abs(BlockPos.unpackLongZ(positions[slot]) - z) <= 1) {
+				evict(slot);
+			}
+		}
+	}
+
+	/**
+	 * @return The amount of cached rejections, including expired ones not yet
+	 *         evicted.
+	 */
+	public int size() {
+		return size;
+	}
+
+	private void evict(final int slot) {
+		live[slot] = false;
+		size--;
+		slots.remove(hashes[slot], slot);
+		adjustColumns(positions[slot], -1);
+	}
+
+	private void adjustColumns(final long position, final int delta) {
+		final int x = BlockPos.unpackLongX(position);
+		final int z = BlockPos.unpackLongZ(position);
+
+		for (int dz = -1; dz <= 1; dz++) {
+			for (int dx = -1; dx <= 1; dx++) {
+				final long column = ChunkPos.toLong(x + dx, z + dz);
+				if (columns.addTo(column, delta) + delta == 0) {
+					columns.remove(column);
+				}
+			}
+		}
+	}
+
+	private static long identity(final Entity entity, final BlockState state) {
+		return ((long) entity.getId() << 32) | (Block.getRawIdFromState(state) & 0xFFFFFFFFL);
+	}
+
+	private static long hash(final long position, final long identity) {
+		return HashCommon.mix(position ^ HashCommon.mix(identity));
+	}
+
+	/**
+	 * Implemented on {@link ServerWorld} by
+	 * {@link gay.ampflower.polysit.mixin.MixinServerWorld}.
+	 */
+	public interface Holder {
+		RejectionCache polysit$getRejectionCache();
+	}
+}
@@ -0,0 +1,117 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Where a player was sitting, stored in the player's own data in place of the
+ * seat entity.
+ * <p>
+ * Seats are never saved, so this is all that's left of one once the player logs
+ * out. The seat is recreated once the player is back and the block is ticking.
+ * </p>
+ *
+ * @param block   The packed position of the block the seat is in.
+ * @param offsetX The X of the seat within the block.
+ * @param offsetY The Y of the seat within the block, already migrated to the
+ *                current runtime version.
+ * @param offsetZ The Z of the seat within the block.
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public record SavedSeat(long block, float offsetX, float offsetY, float offsetZ) {
+	private static final String TAG_NAME = "polysit:seat";
+
+	/** How far the player may be from the seat for it to still be restored. */
+	private static final double MAX_DISTANCE_SQUARED = 2D * 2D;
+
+	@NotNull
+	public static SavedSeat of(@NotNull final SeatEntity seat) {
+		return of(seat.getX(), seat.getY(), seat.getZ());
+	}
+
+	@NotNull
+	public static SavedSeat of(@NotNull final VirtualSeat seat) {
+		return of(seat.getX(), seat.getY(), seat.getZ());
+	}
+
+	private static SavedSeat of(final double x, final double y, final double z) {
+		final var pos = Main.blockPosOfFloored(x, y, z);
+		return new SavedSeat(pos.asLong(), (float) (x - pos.getX()), (float) (y - pos.getY()),
+				(float) (z - pos.getZ()));
+	}
+
+	/**
+	 * @return The seat stored in the player's data, if any.
+	 */
+	@Nullable
+	public static SavedSeat read(@NotNull final NbtCompound nbt) {
+		if (!nbt.contains(TAG_NAME, NbtElement.COMPOUND_TYPE)) {
+			return null;
+		}
+
+		final var tag = nbt.getCompound(TAG_NAME);
+		final double delta = Main.delta(tag.getInt(Main.VERSION_TAG_NAME));
+
+		return new SavedSeat(tag.getLong("Block"), tag.getFloat("X"), (float) (tag.getFloat("Y") + delta),
+				tag.getFloat("Z"));
+	}
+
+	public void write(@NotNull final NbtCompound nbt) {
+		final var tag = new NbtCompound();
+		tag.putLong("Block", block);
+		tag.putFloat("X", offsetX);
+		tag.putFloat("Y", offsetY);
+		tag.putFloat("Z", offsetZ);
+		tag.putInt(Main.VERSION_TAG_NAME, Main.RUNTIME_VERSION);
+		nbt.put(TAG_NAME, tag);
+	}
+
+	public double x() {
+		return BlockPos.unpackLongX(block) + (double) offsetX;
+	}
+
+	public double y() {
+		return BlockPos.unpackLongY(block) + (double) offsetY;
+	}
+
+	public double z() {
+		return BlockPos.unpackLongZ(block) + (double) offsetZ;
+	}
+
+	/**
+	 * Tries to put the player back on the seat.
+	 *
+	 * @return false if the block isn't ticking yet and this should be retried,
+	 *         true if it's been dealt with, whether or not the player is sitting.
+	 */
+	public boolean restore(@NotNull final ServerPlayerEntity player) {
+		final var world = player.getServerWorld();
+
+		if (!world.shouldTickEntity(BlockPos.fromLong(block))) {
+			return false;
+		}
+
+		final double x = x();
+		final double y = y();
+		final double z = z();
+
+		// The player has moved on since, such as by being teleported.
+		if (Main.isRiding(player) || player.isSpectator() || player.squaredDistanceTo(x, y, z) > MAX_DISTANCE_SQUARED) {
+			return true;
+		}
+
+		Main.resit(world, player, x, y, z);
+		return true;
+	}
+}
@@ -0,0 +1,53 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A data-driven seat, as loaded from {@code data/<namespace>/polysit/seats/}.
+ *
+ * <pre>
+ * {
+ *   "blocks": ["minecraft:oak_log", "#minecraft:logs"],
+ *   "state": { "axis": "y" },
+ *   "height": 1.0,
+ *   "offset_x": 0.0,
+ *   "offset_z": 0.0,
+ *   "command_only": false
+ * }
+ * </pre>
+ *
+ * @param blocks      Block IDs, or tags prefixed with {@code #}.
+ * @param state       Properties the state must have to be a seat. Empty
+ *                    matches every state.
+ * @param height      The height of the sitting surface relative to the block.
+ *                    Defaults to the top of the collision shape.
+ * @param offsetX     The X offset from the center of the block.
+ * @param offsetZ     The Z offset from the center of the block.
+ * @param commandOnly Whether the seat is only usable with {@code /sit}, as
+ *                    with fences.
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public record SeatDefinition(List<String> blocks, Map<String, String> state, Optional<Double> height,
+		double offsetX, double offsetZ, boolean commandOnly) {
+	public static final Codec<SeatDefinition> CODEC = RecordCodecBuilder.create(instance -> instance
+			.group(Codec.STRING.listOf().fieldOf("blocks").forGetter(SeatDefinition::blocks),
+					Codec.unboundedMap(Codec.STRING, Codec.STRING).optionalFieldOf("state", Map.of())
+							.forGetter(SeatDefinition::state),
+					Codec.DOUBLE.optionalFieldOf("height").forGetter(SeatDefinition::height),
+					Codec.DOUBLE.optionalFieldOf("offset_x", 0.D).forGetter(SeatDefinition::offsetX),
+					Codec.DOUBLE.optionalFieldOf("offset_z", 0.D).forGetter(SeatDefinition::offsetZ),
+					Codec.BOOL.optionalFieldOf("command_only", false).forGetter(SeatDefinition::commandOnly))
+			.apply(instance, SeatDefinition::new));
+}
@@ -0,0 +1,83 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.mojang.logging.LogUtils;
+import com.mojang.serialization.JsonOps;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.block.Block;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads {@link SeatDefinition}s from data packs.
+ * <p>
+ * The definitions are only compiled into the {@link SeatTable} once tags are
+ * bound, at which point the new table is swapped in whole.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public final class SeatDefinitionLoader implements SimpleSynchronousResourceReloadListener {
+	private static final Logger logger = LogUtils.getLogger();
+
+	private static final Identifier ID = new Identifier("polysit", "seats");
+	private static final String DIRECTORY = "polysit/seats";
+
+	/** Blocks to sit on at the top of the collision shape, as with slabs. */
+	public static final TagKey<Block> SEATS = TagKey.of(RegistryKeys.BLOCK, new Identifier("polysit", "seats"));
+	/** Blocks to sit on at the top of the collision shape, only with /sit. */
+	public static final TagKey<Block> COMMAND_SEATS = TagKey.of(RegistryKeys.BLOCK,
+			new Identifier("polysit", "command_seats"));
+	/** Blocks that should never be seats, including the built-in ones. */
+	public static final TagKey<Block> NOT_SEATS = TagKey.of(RegistryKeys.BLOCK,
+			new Identifier("polysit", "not_seats"));
+
+	private static volatile List<SeatDefinition> definitions = List.of();
+
+	/**
+	 * @return The definitions from the last reload.
+	 */
+	@NotNull
+	public static List<SeatDefinition> definitions() {
+		return definitions;
+	}
+
+	@Override
+	public Identifier getFabricId() {
+		return ID;
+	}
+
+	@Override
+	public void reload(final ResourceManager manager) {
+		final var loaded = new ArrayList<SeatDefinition>();
+
+		for (final var entry : manager.findResources(DIRECTORY, id -> id.getPath().endsWith(".json")).entrySet()) {
+			final var id = entry.getKey();
+			try (final var reader = entry.getValue().getReader()) {
+				SeatDefinition.CODEC.parse(JsonOps.INSTANCE, JsonParser.parseReader(reader))
+						.resultOrPartial(error -> logger.warn("Couldn't parse seat definition {}: {}", id, error))
+						.ifPresent(loaded::add);
+			} catch (IOException | JsonParseException e) {
+				logger.warn("Couldn't read seat definition {}", id, e);
+			}
+		}
+
+		definitions = List.copyOf(loaded);
+	}
+}
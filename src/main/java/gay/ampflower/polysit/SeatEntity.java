@@ -7,6 +7,7 @@
 package gay.ampflower.polysit;// Created 2022-08-05T21:27:35
 
 import eu.pb4.polymer.core.api.entity.PolymerEntity;
+import gay.ampflower.polysit.mixin.AccessorEntity;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.attribute.EntityAttributeInstance;
@@ -16,15 +17,27 @@ import net.minecraft.entity.data.DataTracker;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.network.listener.ClientPlayPacketListener;
 import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BundleS2CPacket;
+import net.minecraft.network.packet.s2c.play.EntitiesDestroyS2CPacket;
 import net.minecraft.network.packet.s2c.play.EntityAttributesS2CPacket;
+import net.minecraft.network.packet.s2c.play.EntityPassengersSetS2CPacket;
 import net.minecraft.network.packet.s2c.play.EntitySpawnS2CPacket;
+import net.minecraft.network.packet.s2c.play.EntityTrackerUpdateS2CPacket;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.BlockView;
 import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 import static net.minecraft.entity.decoration.ArmorStandEntity.ARMOR_STAND_FLAGS;
 
@@ -36,10 +49,13 @@ import static net.minecraft.entity.decoration.ArmorStandEntity.ARMOR_STAND_FLAGS
  * <ul>
  * <li>Emulates an armor stand when Polymer's present.</li>
  * <li>Follows the player's yaw to allow for legs to face forward.</li>
- * <li>Destroys itself whenever there's no passengers or block.</li>
- * <li>Fakes the entity data to claim that there's no health.</li>
- * <li>If an instance ever makes it to save the cycle, it only saves when
- * actively ridden.</li>
+ * <li>Destroys itself whenever there's no passengers or block, as notified by
+ * the {@link SeatIndex} and dismounts, rather than polling each tick.</li>
+ * <li>Fakes the entity data to claim that there's no health, bundled with the
+ * spawn.</li>
+ * <li>Never saved, as players remember where they were sitting.</li>
+ * <li>Has no tracker of its own; the seat is sent along with its passenger, as
+ * nobody can see the seat without seeing the passenger.</li>
  * </ul>
  *
  * @author Ampflower
@@ -49,13 +65,34 @@ public class SeatEntity extends Entity implements PolymerEntity {
 	private static final EntityAttributeInstance MAX_HEALTH_NULL = new EntityAttributeInstance(
 			EntityAttributes.GENERIC_MAX_HEALTH, discard -> {
 			});
-	private static final Collection<EntityAttributeInstance> MAX_HEALTH_NULL_SINGLE = Collections
+	static final Collection<EntityAttributeInstance> MAX_HEALTH_NULL_SINGLE = Collections
 			.singleton(MAX_HEALTH_NULL);
 
+	/** Marker armor stand; immutable, so it's shared by every seat and viewer. */
+	private static final DataTracker.SerializedEntry<Byte> MARKER_FLAGS = DataTracker.SerializedEntry
+			.of(ARMOR_STAND_FLAGS, (byte) 16);
+	/** Invisible, likewise shared. */
+	private static final DataTracker.SerializedEntry<Byte> INVISIBLE_FLAGS = DataTracker.SerializedEntry
+			.of(AccessorEntity.getFlags(), (byte) 0x20);
+	private static final List<DataTracker.SerializedEntry<?>> DATA = List.of(INVISIBLE_FLAGS, MARKER_FLAGS);
+
 	static {
 		MAX_HEALTH_NULL.setBaseValue(0D);
 	}
 
+	// Maintained by SeatIndex
+	boolean indexed;
+	long indexKey;
+	SeatEntity nextInBlock;
+
+	/** Built on first track, then reused for every viewer. */
+	private Packet<ClientPlayPacketListener> attributesPacket;
+	private Packet<ClientPlayPacketListener> dataPacket;
+	/** Likewise, until the seat is moved or turns. */
+	private Packet<ClientPlayPacketListener> spawnPacket;
+	private byte spawnYaw;
+	private final YawSync yawSync = new YawSync();
+
 	/** Initialises the seat to be invisible and to have no gravity. */
 	public SeatEntity(EntityType<? extends SeatEntity> type, World world) {
 		super(type, world);
@@ -79,20 +116,82 @@ public class SeatEntity extends Entity implements PolymerEntity {
 	}
 
 	/**
-	 * Tells the client that we're a marker armor stand, and that we have no health.
+	 * Tells the client that we have no health. Sent within the spawn bundle, as
+	 * there's no other mechanism we can use to send this.
 	 */
-	@Override
-	public void modifyRawTrackedData(List<DataTracker.SerializedEntry<?>> data, ServerPlayerEntity player,
-			boolean initial) {
-		data.add(new DataTracker.Entry<>(ARMOR_STAND_FLAGS, (byte) 16).toSerialized());
-		// This must be manually sent as there's no other mechanism we can use to send
-		// this.
-		if (player != null) {
-			// Really, this shouldn't be null but apparently Polymer 0.3.13+1.19.3 is
-			// slightly busted in that joining a world while sitting on a seat causes an
-			// instant crash.
-			// We can at least mitigate it here.
-			player.networkHandler.sendPacket(new EntityAttributesS2CPacket(getId(), MAX_HEALTH_NULL_SINGLE));
+	public Packet<ClientPlayPacketListener> getAttributesPacket() {
+		if (attributesPacket == null) {
+			attributesPacket = new EntityAttributesS2CPacket(getId(), MAX_HEALTH_NULL_SINGLE);
+		}
+		return attributesPacket;
+	}
+
+	/**
+	 * Tells the client that we're an invisible marker armor stand.
+	 */
+	public Packet<ClientPlayPacketListener> getDataPacket() {
+		if (dataPacket == null) {
+			dataPacket = dataPacket(getId());
+		}
+		return dataPacket;
+	}
+
+	/**
+	 * Writes the packets needed for a viewer to see the seat, which must come
+	 * before the passenger's.
+	 *
+	 * @see gay.ampflower.polysit.mixin.MixinEntityTrackerEntry
+	 */
+	public void writeSpawnPackets(final Consumer<Packet<ClientPlayPacketListener>> sender) {
+		sender.accept(createSpawnPacket());
+		sender.accept(getDataPacket());
+		sender.accept(getAttributesPacket());
+	}
+
+	static Packet<ClientPlayPacketListener> spawnPacket(final int id, final UUID uuid, final double x,
+			final double y, final double z, final byte yaw) {
+		return new EntitySpawnS2CPacket(id, uuid, x, y, z, 0F, yaw * 360F / 256F, EntityType.ARMOR_STAND, 0,
+				Vec3d.ZERO, 0D);
+	}
+
+	static Packet<ClientPlayPacketListener> dataPacket(final int id) {
+		return new EntityTrackerUpdateS2CPacket(id, DATA);
+	}
+
+	/**
+	 * @return The yaw as sent over the network.
+	 */
+	static byte angle(final float degrees) {
+		return (byte) MathHelper.floor(degrees * 256F / 360F);
+	}
+
+	/**
+	 * @return The rotation to send to the viewers, if any is due.
+	 * @see YawSync
+	 */
+	@Nullable
+	public Packet<ClientPlayPacketListener> pollRotation() {
+		return yawSync.poll(getId(), getRiderYaw(), getWorld().getTime());
+	}
+
+	/**
+	 * The seat faces wherever its passenger does, read as it's sent rather than
+	 * copied onto the seat every tick.
+	 *
+	 * @return The yaw of the passenger, or of the seat if there's none.
+	 */
+	private float getRiderYaw() {
+		final var passenger = getFirstPassenger();
+		return passenger == null ? getYaw() : passenger.getYaw();
+	}
+
+	/**
+	 * Sends the packet to everyone that can see the passenger, including the
+	 * passenger itself.
+	 */
+	private void sendToViewers(final Entity passenger, final Packet<ClientPlayPacketListener> packet) {
+		if (getWorld() instanceof ServerWorld world) {
+			world.getChunkManager().sendToNearbyPlayers(passenger, packet);
 		}
 	}
 
@@ -105,7 +204,9 @@ public class SeatEntity extends Entity implements PolymerEntity {
 		// Avoids setting position on entity init
 		final var version = nbt.getInt(Main.VERSION_TAG_NAME);
 		if (version != Main.RUNTIME_VERSION) {
-			this.setPos(this.getX(), this.getY() + Main.delta(version), this.getZ());
+			final double delta = Main.delta(version);
+			SeatEvents.SeatMigration.emit(version, Main.RUNTIME_VERSION, delta);
+			this.setPos(this.getX(), this.getY() + delta, this.getZ());
 			// Required to suppress the packet
 			this.resetPosition();
 		}
@@ -116,14 +217,16 @@ public class SeatEntity extends Entity implements PolymerEntity {
 		nbt.putInt(Main.VERSION_TAG_NAME, Main.RUNTIME_VERSION);
 	}
 
-	/** Only save if being ridden. */
+	/**
+	 * Never save; the rider keeps a {@link SavedSeat} instead.
+	 * <p>
+	 * Seats saved by older versions are still loaded, only to discard themselves
+	 * for lack of a passenger.
+	 * </p>
+	 */
 	@Override
 	public boolean shouldSave() {
-		var reason = getRemovalReason();
-		if (reason != null && !reason.shouldSave()) {
-			return false;
-		}
-		return hasPassengers();
+		return false;
 	}
 
 	/** Discard self when passengers are dismounted. */
@@ -133,26 +236,49 @@ public class SeatEntity extends Entity implements PolymerEntity {
 		discard();
 	}
 
-	/** Discard self when the passenger is dismounted. */
+	/** Shows the seat to everyone that can see the new passenger. */
+	@Override
+	protected void addPassenger(Entity passenger) {
+		super.addPassenger(passenger);
+
+		final var packets = new ArrayList<Packet<ClientPlayPacketListener>>();
+		writeSpawnPackets(packets::add);
+		packets.add(new EntityPassengersSetS2CPacket(this));
+		yawSync.sent(angle(getRiderYaw()));
+		sendToViewers(passenger, new BundleS2CPacket(packets));
+	}
+
+	/**
+	 * Discard self when the passenger is dismounted.
+	 * <p>
+	 * The destroy is sent right away, ahead of the teleport vanilla sends once
+	 * the passenger has been dismounted, so the client is no longer riding by
+	 * the time the teleport arrives.
+	 * </p>
+	 */
 	@Override
 	protected void removePassenger(Entity passenger) {
 		super.removePassenger(passenger);
+		sendToViewers(passenger, new EntitiesDestroyS2CPacket(getId()));
+		if (passenger instanceof Passenger rider) {
+			rider.polysit$onSeatDestroyed();
+		}
 		discard();
 	}
 
 	/**
-	 * Automatic cleanup and syncing yaw with the passenger.
+	 * Does nothing, as there's nothing for a seat to do.
+	 * <p>
+	 * The world still calls this every tick, as passengers are ticked through
+	 * their vehicle, but the base tick is skipped entirely; a seat never moves,
+	 * never touches fluids and can't catch fire. Whether the seat is still
+	 * ridden and supported is checked by the {@link SeatIndex} when the seat is
+	 * loaded and when the block underneath changes, and the yaw is read off the
+	 * passenger as it's sent.
+	 * </p>
 	 */
 	@Override
 	public void tick() {
-		// There's absolutely no reason for this entity to even move.
-		super.tick();
-		var passenger = getFirstPassenger();
-		if (passenger == null || isDiscardable()) {
-			discard();
-			return;
-		}
-		setYaw(passenger.getYaw());
 	}
 
 	@Override
@@ -166,15 +292,57 @@ public class SeatEntity extends Entity implements PolymerEntity {
 	}
 
 	protected boolean isDiscardable() {
-		return this.getWorld().getBlockState(getAdjustedPos()).isAir();
+		return !hasPassengers() || this.getWorld().getBlockState(getSupportPos()).isAir();
 	}
 
-	private BlockPos getAdjustedPos() {
-		return Main.blockPosOfFloored(getPos().add(0, Main.VERTICAL_CHECK_OFFSET, 0));
+	/**
+	 * Checks whether a seat at the given position would have a block to sit on,
+	 * without creating the seat.
+	 */
+	public static boolean isSupported(final BlockView world, final double x, final double y, final double z) {
+		return !world.getBlockState(Main.blockPosOfFloored(x, y + Main.VERTICAL_CHECK_OFFSET, z)).isAir();
+	}
+
+	/**
+	 * @return The position of the block that's supporting the seat.
+	 */
+	BlockPos getSupportPos() {
+		return Main.blockPosOfFloored(getX(), getY() + Main.VERTICAL_CHECK_OFFSET, getZ());
 	}
 
+	/**
+	 * Spawns as a plain armor stand directly, as the seat is never tracked by
+	 * itself for Polymer to rewrite the packet.
+	 * <p>
+	 * Shared by every viewer until the seat is moved or the rider turns.
+	 * </p>
+	 */
 	@Override
 	public Packet<ClientPlayPacketListener> createSpawnPacket() {
-		return new EntitySpawnS2CPacket(this);
+		final byte yaw = angle(getRiderYaw());
+		if (spawnPacket == null || spawnYaw != yaw) {
+			spawnPacket = spawnPacket(getId(), getUuid(), getX(), getY(), getZ(), yaw);
+			spawnYaw = yaw;
+		}
+		return spawnPacket;
+	}
+
+	/** Drops the spawn packet, as it holds the old position. */
+	@Override
+	public void setPosition(final double x, final double y, final double z) {
+		super.setPosition(x, y, z);
+		spawnPacket = null;
+	}
+
+	/**
+	 * Implemented on {@link ServerPlayerEntity} by
+	 * {@link gay.ampflower.polysit.mixin.MixinServerPlayerEntity}.
+	 */
+	public interface Passenger {
+		/**
+		 * Called once the client's been told the seat's gone, before vanilla's
+		 * dismount teleport.
+		 */
+		void polysit$onSeatDestroyed();
 	}
 }
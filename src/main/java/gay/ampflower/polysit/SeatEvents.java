@@ -0,0 +1,183 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityPose;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Java Flight Recorder events for seating, for correlating tick spikes with
+ * seating storms.
+ * <p>
+ * Fields are only filled in once {@link Event#shouldCommit()} passes, so the
+ * events cost a begin and end while not recording, which the JIT drops.
+ * {@link SitRequest}s outlive the call that begins them, so they're not created
+ * at all unless recording.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public final class SeatEvents {
+	private static final String CATEGORY = "Polysit";
+
+	private SeatEvents() {
+	}
+
+	@Name("gay.ampflower.polysit.SitRequest")
+	@Label("Sit Request")
+	@Category(CATEGORY)
+	@Description("An attempt to sit, by using a block or via /sit")
+	@StackTrace(false)
+	public static final class SitRequest extends Event {
+		private static final EventType TYPE = EventType.getEventType(SitRequest.class);
+
+		@Label("Source")
+		String source;
+		@Label("Block State")
+		String state;
+		@Label("Outcome")
+		String outcome;
+
+		/**
+		 * @return A begun event, or null while not recording.
+		 */
+		@Nullable
+		public static SitRequest start() {
+			if (!TYPE.isEnabled()) {
+				return null;
+			}
+			final var event = new SitRequest();
+			event.begin();
+			return event;
+		}
+
+		/**
+		 * Completes the event, if one was started.
+		 */
+		public static void complete(@Nullable final SitRequest event, final SitMetrics.Source source,
+				@Nullable final BlockState state, final SitOutcome outcome) {
+			if (event == null) {
+				return;
+			}
+			event.end();
+			if (event.shouldCommit()) {
+				event.source = source.metricName();
+				event.state = String.valueOf(state);
+				event.outcome = outcome.metricName();
+				event.commit();
+			}
+		}
+	}
+
+	@Name("gay.ampflower.polysit.SeatSpawn")
+	@Label("Seat Spawn")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static final class SeatSpawn extends Event {
+		@Label("World")
+		String world;
+		@Label("X")
+		double x;
+		@Label("Y")
+		double y;
+		@Label("Z")
+		double z;
+
+		public static void emit(final Entity seat) {
+			final var event = new SeatSpawn();
+			if (event.shouldCommit()) {
+				event.world = seat.getWorld().getRegistryKey().getValue().toString();
+				event.x = seat.getX();
+				event.y = seat.getY();
+				event.z = seat.getZ();
+				event.commit();
+			}
+		}
+	}
+
+	@Name("gay.ampflower.polysit.SeatDiscard")
+	@Label("Seat Discard")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static final class SeatDiscard extends Event {
+		@Label("World")
+		String world;
+		@Label("Reason")
+		String reason;
+
+		public static void emit(final Entity seat, final Entity.RemovalReason reason) {
+			final var event = new SeatDiscard();
+			if (event.shouldCommit()) {
+				event.world = seat.getWorld().getRegistryKey().getValue().toString();
+				event.reason = reason.name();
+				event.commit();
+			}
+		}
+	}
+
+	@Name("gay.ampflower.polysit.DismountFit")
+	@Label("Dismount Fit")
+	@Category(CATEGORY)
+	@Description("Fitting an entity into the world after getting off a vehicle")
+	@StackTrace(false)
+	public static final class DismountFit extends Event {
+		@Label("Entity Type")
+		String entityType;
+		@Label("Pose")
+		String pose;
+		@Label("Boxes Scanned")
+		int boxesScanned;
+		@Label("Y Offset")
+		double offset;
+
+		public void complete(final Entity entity, @Nullable final EntityPose pose, final int boxesScanned,
+				final double offset) {
+			end();
+			if (shouldCommit()) {
+				this.entityType = entity.getType().getUntranslatedName();
+				this.pose = String.valueOf(pose);
+				this.boxesScanned = boxesScanned;
+				this.offset = offset;
+				commit();
+			}
+		}
+	}
+
+	@Name("gay.ampflower.polysit.SeatMigration")
+	@Label("Seat Migration")
+	@Category(CATEGORY)
+	@Description("A seat loaded from an older or newer runtime version being moved")
+	@StackTrace(false)
+	public static final class SeatMigration extends Event {
+		@Label("From Version")
+		int from;
+		@Label("To Version")
+		int to;
+		@Label("Y Delta")
+		double delta;
+
+		public static void emit(final int from, final int to, final double delta) {
+			final var event = new SeatMigration();
+			if (event.shouldCommit()) {
+				event.from = from;
+				event.to = to;
+				event.delta = delta;
+				event.commit();
+			}
+		}
+	}
+}
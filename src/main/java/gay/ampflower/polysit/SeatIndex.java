@@ -0,0 +1,381 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Per-world index of loaded seats, keyed by the packed position of the block
+ * supporting the seat.
+ * <p>
+ * Seats sharing a block are chained through the seats themselves, so the index
+ * costs a single map entry per occupied block. The map is trimmed once most of
+ * its entries are gone.
+ * </p>
+ * <p>
+ * Seats are added and removed as they're loaded and unloaded, which includes
+ * spawning, discarding and chunk (un)loading, so the index only ever holds
+ * seats that are live in the world.
+ * </p>
+ * <p>
+ * {@link VirtualSeat}s are indexed the same way in a map of their own, so
+ * occupancy and support checks see both kinds of seat.
+ * </p>
+ * <p>
+ * Seats are also kept in the order they were indexed, both per world and per
+ * chunk, so that {@link Config#maxSeatsPerWorld} and
+ * {@link Config#maxSeatsPerChunk} can be enforced by evicting the seat that's
+ * been sat on the longest without searching for it.
+ * </p>
+ * <p>
+ * Block changes are pushed to the seats through
+ * {@link gay.ampflower.polysit.mixin.MixinServerWorld}, allowing the seats to
+ * skip polling the block every tick. Seats that have just been loaded or lost
+ * their block are queued, and discarded at the end of the tick should they
+ * have no passenger or block by then.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public final class SeatIndex {
+	/** Blocks below which the map isn't worth trimming. */
+	private static final int TRIM_THRESHOLD = 64;
+
+	private final Long2ObjectOpenHashMap<SeatEntity> seats = new Long2ObjectOpenHashMap<>();
+	private final Long2ObjectOpenHashMap<VirtualSeat> virtual = new Long2ObjectOpenHashMap<>();
+	/** Seats per chunk, oldest first, keyed by the packed chunk position. */
+	private final Long2ObjectOpenHashMap<ObjectLinkedOpenHashSet<Object>> chunks = new Long2ObjectOpenHashMap<>();
+	/** Every seat, virtual or not, oldest first. */
+	private final ObjectLinkedOpenHashSet<Object> order = new ObjectLinkedOpenHashSet<>();
+	/** Seats to check at the end of the tick; may hold duplicates and removed seats. */
+	private final ObjectArrayList<SeatEntity> pending = new ObjectArrayList<>();
+	/** Most blocks seen since the last trim. */
+	private int peak;
+	private int count;
+
+	@NotNull
+	public static SeatIndex of(@NotNull ServerWorld world) {
+		return ((Holder) world).polysit$getSeatIndex();
+	}
+
+	void add(final SeatEntity seat) {
+		if (seat.indexed) {
+			return;
+		}
+		final long key = seat.getSupportPos().asLong();
+		seat.indexKey = key;
+		seat.nextInBlock = seats.put(key, seat);
+		seat.indexed = true;
+		track(seat, key);
+		// Freshly spawned seats are ridden by then, older ones are left empty.
+		pending.add(seat);
+
+		if (seats.size() > peak) {
+			peak = seats.size();
+		}
+	}
+
+	void remove(final SeatEntity seat) {
+		if (!seat.indexed) {
+			return;
+		}
+		seat.indexed = false;
+
+		final long key = seat.indexKey;
+		untrack(seat, key);
+		final var head = seats.get(key);
+
+		if (head == seat) {
+			if (seat.nextInBlock == null) {
+				seats.remove(key);
+			} else {
+				seats.put(key, seat.nextInBlock);
+			}
+		} else {
+			for (var prev = head; prev != null; prev = prev.nextInBlock) {
+				if (prev.nextInBlock == seat) {
+					prev.nextInBlock = seat.nextInBlock;
+					break;
+				}
+			}
+		}
+
+		seat.nextInBlock = null;
+
+		// Give back the memory after a crowd leaves.
+		if (peak > TRIM_THRESHOLD && seats.size() < peak >>> 2) {
+			seats.trim();
+			peak = seats.size();
+		}
+	}
+
+	void add(final VirtualSeat seat) {
+		if (seat.indexed) {
+			return;
+		}
+		final long key = seat.getSupportPos().asLong();
+		seat.indexKey = key;
+		seat.nextInBlock = virtual.put(key, seat);
+		seat.indexed = true;
+		track(seat, key);
+	}
+
+	void remove(final VirtualSeat seat) {
+		if (!seat.indexed) {
+			return;
+		}
+		seat.indexed = false;
+
+		final long key = seat.indexKey;
+		untrack(seat, key);
+		final var head = virtual.get(key);
+
+		if (head == seat) {
+			if (seat.nextInBlock == null) {
+				virtual.remove(key);
+			} else {
+				virtual.put(key, seat.nextInBlock);
+			}
+		} else {
+			for (var prev = head; prev != null; prev = prev.nextInBlock) {
+				if (prev.nextInBlock == seat) {
+					prev.nextInBlock = seat.nextInBlock;
+					break;
+				}
+			}
+		}
+
+		seat.nextInBlock = null;
+	}
+
+	private void track(final Object seat, final long key) {
+		count++;
+		order.add(seat);
+		final long chunk = chunkKey(key);
+		var seats = chunks.get(chunk);
+		if (seats == null) {
+			seats = new ObjectLinkedOpenHashSet<>();
+			chunks.put(chunk, seats);
+		}
+		seats.add(seat);
+	}
+
+	private void untrack(final Object seat, final long key) {
+		count--;
+		order.remove(seat);
+		final long chunk = chunkKey(key);
+		final var seats = chunks.get(chunk);
+		if (seats != null && seats.remove(seat) && seats.isEmpty()) {
+			chunks.remove(chunk);
+		}
+	}
+
+	private int countIn(final long chunk) {
+		final var seats = chunks.get(chunk);
+		return seats == null ? 0 : seats.size();
+	}
+
+	/**
+	 * Checks whether a new seat supported by the given block would stay within
+	 * the limits. Cheap enough to check before any collision work.
+	 */
+	public boolean hasRoom(final BlockPos support) {
+		final int perWorld = Config.maxSeatsPerWorld;
+		final int perChunk = Config.maxSeatsPerChunk;
+		return (perWorld <= 0 || count < perWorld)
+				&& (perChunk <= 0 || countIn(chunkKey(support.asLong())) < perChunk);
+	}
+
+	/**
+	 * Evicts the oldest seats in the way of a new seat supported by the given
+	 * block, standing up whoever was sitting on them.
+	 *
+	 * @return Whether there's room for the seat now.
+	 */
+	boolean makeRoom(final BlockPos support) {
+		if (!Config.evictSeats) {
+			return hasRoom(support);
+		}
+
+		final int perWorld = Config.maxSeatsPerWorld;
+		final int perChunk = Config.maxSeatsPerChunk;
+		final long chunk = chunkKey(support.asLong());
+
+		while (perChunk > 0 && countIn(chunk) >= perChunk) {
+			if (!evict(chunk)) {
+				return false;
+			}
+		}
+
+		while (perWorld > 0 && count >= perWorld) {
+			if (order.isEmpty() || !evict(order.first())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Evicts the oldest seat in the chunk.
+	 */
+	private boolean evict(final long chunk) {
+		final var seats = chunks.get(chunk);
+		return seats != null && !seats.isEmpty() && evict(seats.first());
+	}
+
+	private boolean evict(final Object seat) {
+		SitMetrics.seatEvicted();
+
+		if (seat instanceof SeatEntity entity) {
+			// Dismounts as usual, then discards itself.
+			entity.removeAllPassengers();
+			remove(entity);
+			return !entity.indexed;
+		}
+
+		final var virtual = (VirtualSeat) seat;
+		virtual.dismount();
+		return !virtual.indexed;
+	}
+
+	private static long chunkKey(final long blockPos) {
+		return ChunkPos.toLong(BlockPos.unpackLongX(blockPos) >> 4, BlockPos.unpackLongZ(blockPos) >> 4);
+	}
+
+	/**
+	 * Moves a loaded seat, keeping it indexed under its new supporting block.
+	 */
+	void relocate(final SeatEntity seat, final double x, final double y, final double z) {
+		final boolean indexed = seat.indexed;
+		remove(seat);
+		seat.setPosition(x, y, z);
+		if (indexed) {
+			add(seat);
+		}
+	}
+
+	/**
+	 * Finds a loaded seat supported by the given block, horizontally within the
+	 * given distance of the position.
+	 *
+	 * @return The first matching seat, or null if the spot is free.
+	 */
+	@Nullable
+	public SeatEntity find(final BlockPos support, final double x, final double z, final double distance) {
+		for (var seat = seats.get(support.asLong()); seat != null; seat = seat.nextInBlock) {
+			if (!seat.isRemoved() && Math.abs(seat.getX() - x) <= distance && Math.abs(seat.getZ() - z) <= distance) {
+				return seat;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds a virtual seat supported by the given block, horizontally within the
+	 * given distance of the position.
+	 *
+	 * @return The first matching seat, or null if the spot is free.
+	 */
+	@Nullable
+	public VirtualSeat findVirtual(final BlockPos support, final double x, final double z,
+			final double distance) {
+		if (virtual.isEmpty()) {
+			return null;
+		}
+		for (var seat = virtual.get(support.asLong()); seat != null; seat = seat.nextInBlock) {
+			if (Math.abs(seat.getX() - x) <= distance && Math.abs(seat.getZ() - z) <= distance) {
+				return seat;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Notifies every seat supported by the block at the given position that the
+	 * block has changed.
+	 */
+	public void onBlockChanged(final BlockPos pos, final BlockState state) {
+		if (!seats.isEmpty() && state.isAir()) {
+			for (var seat = seats.get(pos.asLong()); seat != null; seat = seat.nextInBlock) {
+				pending.add(seat);
+			}
+		}
+		if (!virtual.isEmpty()) {
+			for (var seat = virtual.get(pos.asLong()); seat != null; seat = seat.nextInBlock) {
+				seat.onSupportChanged(state);
+			}
+		}
+	}
+
+	/**
+	 * Discards the seats queued this tick that are no longer ridden or supported.
+	 * Called at the end of the world's tick.
+	 */
+	public void tick() {
+		if (pending.isEmpty()) {
+			return;
+		}
+		// Discarding only ever removes from the index, never queues.
+		for (int i = 0, size = pending.size(); i < size; i++) {
+			final var seat = pending.get(i);
+			if (!seat.isRemoved() && seat.isDiscardable()) {
+				seat.discard();
+			}
+		}
+		pending.clear();
+	}
+
+	/**
+	 * @return The amount of loaded seats, virtual or not.
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * @return The amount of blocks with at least one seat.
+	 */
+	public int size() {
+		return seats.size() + virtual.size();
+	}
+
+	/**
+	 * @return The amount of chunks with at least one seat.
+	 */
+	public int chunks() {
+		return chunks.size();
+	}
+
+	/**
+	 * @return The most seats in any one chunk.
+	 */
+	public int busiestChunk() {
+		int max = 0;
+		for (final var seats : chunks.values()) {
+			max = Math.max(max, seats.size());
+		}
+		return max;
+	}
+
+	/**
+	 * Implemented on {@link ServerWorld} by
+	 * {@link gay.ampflower.polysit.mixin.MixinServerWorld}.
+	 */
+	public interface Holder {
+		SeatIndex polysit$getSeatIndex();
+	}
+}
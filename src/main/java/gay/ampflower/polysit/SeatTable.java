@@ -0,0 +1,363 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.block.BedBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.FenceBlock;
+import net.minecraft.block.FenceGateBlock;
+import net.minecraft.block.ShapeContext;
+import net.minecraft.block.SlabBlock;
+import net.minecraft.block.StairsBlock;
+import net.minecraft.block.enums.BlockHalf;
+import net.minecraft.block.enums.SlabType;
+import net.minecraft.entity.Entity;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.state.StateManager;
+import net.minecraft.state.property.Property;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3i;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.EmptyBlockView;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed seat lookup, indexed by raw block state ID.
+ * <p>
+ * Allows the use-block callback to reject doors, chests, levers and the like
+ * with a single array lookup, before any collision shape is ever built, and
+ * allows {@link Main#sit} to find the seat offset with a single lookup.
+ * </p>
+ * <p>
+ * Built-in seats are compiled first, followed by the
+ * {@linkplain SeatDefinitionLoader#SEATS seat tags}, then the
+ * {@linkplain SeatDefinition data-driven definitions}, with
+ * {@linkplain SeatDefinitionLoader#NOT_SEATS not_seats} having the final say.
+ * </p>
+ * <p>
+ * The table is immutable once built; rebuilding swaps in a new instance, so a
+ * sit in progress never observes a half-built table.
+ * </p>
+ *
+ * <h3>Dynamic shapes</h3>
+ * <p>
+ * States of blocks that {@linkplain Block#hasDynamicBounds() have dynamic
+ * bounds} may have a collision shape that depends on the world. These states
+ * store {@link Double#NaN} for the top height, and for any offset derived from
+ * it, which is the signal for callers to fall back to the live computation.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public final class SeatTable {
+	private static final Logger logger = LogUtils.getLogger();
+
+	private static volatile SeatTable current = new SeatTable(new long[0], new Seat[0], new double[0]);
+
+	/** Bitset of states that may be sat on by using the block. */
+	private final long[] usable;
+	/** Seat geometry of every state, null if the state isn't a seat. */
+	private final Seat[] seats;
+	/** Top collision height of every state, NaN if it depends on the world. */
+	private final double[] topHeights;
+
+	private SeatTable(final long[] usable, final Seat[] seats, final double[] topHeights) {
+		this.usable = usable;
+		this.seats = seats;
+		this.topHeights = topHeights;
+	}
+
+	/**
+	 * @return The currently active table. Callers should hold onto the instance
+	 *         for the duration of a single interaction.
+	 */
+	@NotNull
+	public static SeatTable current() {
+		return current;
+	}
+
+	/**
+	 * Rebuilds the table from the block state registry. Should only be called
+	 * once the registries are frozen, or after tags are reloaded.
+	 */
+	public static void rebuild() {
+		final long start = System.nanoTime();
+		final var table = build(SeatDefinitionLoader.definitions());
+		current = table;
+		logger.debug("Built seat table of {} states in {}µs", table.seats.length,
+				(System.nanoTime() - start) / 1000L);
+	}
+
+	private static SeatTable build(final List<SeatDefinition> definitions) {
+		final int size = Block.STATE_IDS.size();
+		final long[] usable = new long[(size + 63) >>> 6];
+		final Seat[] seats = new Seat[size];
+		final double[] topHeights = new double[size];
+
+		Arrays.fill(topHeights, Double.NaN);
+
+		for (int id = 0; id < size; id++) {
+			final var state = Block.STATE_IDS.get(id);
+			if (state == null) {
+				continue;
+			}
+
+			final double topHeight = computeTopHeight(state);
+			final var seat = computeSeat(state, topHeight);
+
+			topHeights[id] = topHeight;
+			seats[id] = seat;
+		}
+
+		// Tags only fill in blocks that aren't already seats.
+		applyTag(SeatDefinitionLoader.SEATS, Seat.USE | Seat.COMMAND, seats, topHeights);
+		applyTag(SeatDefinitionLoader.COMMAND_SEATS, Seat.COMMAND, seats, topHeights);
+
+		for (final var definition : definitions) {
+			apply(definition, seats, topHeights);
+		}
+
+		for (final var entry : Registries.BLOCK.iterateEntries(SeatDefinitionLoader.NOT_SEATS)) {
+			for (final var state : entry.value().getStateManager().getStates()) {
+				final int id = Block.getRawIdFromState(state);
+				if (id < size) {
+					seats[id] = null;
+				}
+			}
+		}
+
+		for (int id = 0; id < size; id++) {
+			final var seat = seats[id];
+			if (seat != null && seat.isUsable()) {
+				usable[id >>> 6] |= 1L << id;
+			}
+		}
+
+		return new SeatTable(usable, seats, topHeights);
+	}
+
+	private static void applyTag(final TagKey<Block> tag, final int flags, final Seat[] seats,
+			final double[] topHeights) {
+		for (final var entry : Registries.BLOCK.iterateEntries(tag)) {
+			for (final var state : entry.value().getStateManager().getStates()) {
+				final int id = Block.getRawIdFromState(state);
+				if (id < seats.length && seats[id] == null) {
+					seats[id] = new Seat(Main.HORIZONTAL_CENTER_OFFSET, topHeights[id] + Main.VERTICAL_SOLID_OFFSET,
+							Main.HORIZONTAL_CENTER_OFFSET, flags);
+				}
+			}
+		}
+	}
+
+	private static void apply(final SeatDefinition definition, final Seat[] seats, final double[] topHeights) {
+		final int flags = definition.commandOnly() ? Seat.COMMAND : Seat.USE | Seat.COMMAND;
+
+		for (final var entry : definition.blocks()) {
+			final boolean isTag = entry.startsWith("#");
+			final var id = Identifier.tryParse(isTag ? entry.substring(1) : entry);
+
+			if (id == null) {
+				logger.warn("Invalid block or tag {} in seat definition", entry);
+				continue;
+			}
+
+			if (isTag) {
+				for (final var block : Registries.BLOCK.iterateEntries(TagKey.of(RegistryKeys.BLOCK, id))) {
+					apply(definition, block.value(), flags, seats, topHeights);
+				}
+			} else {
+				// Definitions may name blocks of mods that aren't installed.
+				Registries.BLOCK.getOrEmpty(id).ifPresent(block -> apply(definition, block, flags, seats, topHeights));
+			}
+		}
+	}
+
+	private static void apply(final SeatDefinition definition, final Block block, final int flags,
+			final Seat[] seats, final double[] topHeights) {
+		final var manager = block.getStateManager();
+
+		for (final var state : manager.getStates()) {
+			final int id = Block.getRawIdFromState(state);
+			if (id >= seats.length || !matches(manager, state, definition.state())) {
+				continue;
+			}
+			final double height = definition.height().orElse(topHeights[id]);
+			seats[id] = new Seat(Main.HORIZONTAL_CENTER_OFFSET + definition.offsetX(),
+					height + Main.VERTICAL_SOLID_OFFSET, Main.HORIZONTAL_CENTER_OFFSET + definition.offsetZ(), flags);
+		}
+	}
+
+	private static boolean matches(final StateManager<Block, BlockState> manager, final BlockState state,
+			final Map<String, String> properties) {
+		for (final var entry : properties.entrySet()) {
+			final var property = manager.getProperty(entry.getKey());
+			if (property == null || !matches(state, property, entry.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static <T extends Comparable<T>> boolean matches(final BlockState state, final Property<T> property,
+			final String value) {
+		final var expected = property.parse(value);
+		return expected.isPresent() && expected.get().equals(state.get(property));
+	}
+
+	private static double computeTopHeight(final BlockState state) {
+		if (state.isAir()) {
+			return -1.D;
+		}
+		if (state.getBlock().hasDynamicBounds()) {
+			return Double.NaN;
+		}
+		return state.getCollisionShape(EmptyBlockView.INSTANCE, BlockPos.ORIGIN, ShapeContext.absent())
+				.getMax(Direction.Axis.Y);
+	}
+
+	@Nullable
+	private static Seat computeSeat(final BlockState state, final double topHeight) {
+		final var block = state.getBlock();
+
+		if (block instanceof StairsBlock) {
+			if (state.get(StairsBlock.HALF) != BlockHalf.BOTTOM) {
+				return null;
+			}
+			var direction = state.get(StairsBlock.FACING).getOpposite();
+			// Note: Outer vs. Inner for the same side will require the same offset.
+			var corner = switch (state.get(StairsBlock.SHAPE)) {
+				case INNER_LEFT, OUTER_LEFT -> direction.rotateYCounterclockwise().getVector();
+				case INNER_RIGHT, OUTER_RIGHT -> direction.rotateYClockwise().getVector();
+				default -> Vec3i.ZERO;
+			};
+
+			return new Seat(Main.HORIZONTAL_CENTER_OFFSET + ((direction.getOffsetX() + corner.getX()) * .2D),
+					Main.VERTICAL_SLAB_OFFSET,
+					Main.HORIZONTAL_CENTER_OFFSET + ((direction.getOffsetZ() + corner.getZ()) * .2D),
+					Seat.USE | Seat.COMMAND);
+		}
+
+		if (block instanceof SlabBlock) {
+			if (state.get(SlabBlock.TYPE) != SlabType.BOTTOM) {
+				return null;
+			}
+			return new Seat(Main.HORIZONTAL_CENTER_OFFSET, Main.VERTICAL_SLAB_OFFSET, Main.HORIZONTAL_CENTER_OFFSET,
+					Seat.USE | Seat.COMMAND);
+		}
+
+		if (block instanceof BedBlock) {
+			return new Seat(Main.HORIZONTAL_CENTER_OFFSET, topHeight + Main.VERTICAL_SOLID_OFFSET,
+					Main.HORIZONTAL_CENTER_OFFSET, Seat.USE | Seat.COMMAND | Seat.BED);
+		}
+
+		if (block instanceof FenceBlock || block instanceof FenceGateBlock) {
+			return new Seat(Main.HORIZONTAL_CENTER_OFFSET, Main.VERTICAL_FENCE_OFFSET, Main.HORIZONTAL_CENTER_OFFSET,
+					Seat.COMMAND);
+		}
+
+		return null;
+	}
+
+	private int index(final BlockState state) {
+		final int id = Block.getRawIdFromState(state);
+		return id < seats.length ? id : -1;
+	}
+
+	/**
+	 * @param state The state to test.
+	 * @return Whether the state may be sat on by using it.
+	 */
+	public boolean isUsable(final BlockState state) {
+		final int id = Block.getRawIdFromState(state);
+		final int word = id >>> 6;
+		return word < usable.length && (usable[word] & (1L << id)) != 0;
+	}
+
+	/**
+	 * @param state The state to get the seat of.
+	 * @return The seat geometry of the state, or null if it isn't a seat.
+	 */
+	@Nullable
+	public Seat getSeat(final BlockState state) {
+		final int id = index(state);
+		return id < 0 ? null : seats[id];
+	}
+
+	/**
+	 * @return true if the top height of the state doesn't depend on the world, and
+	 *         can be had without a world or entity.
+	 */
+	public boolean hasStaticTopHeight(final BlockState state) {
+		final int id = index(state);
+		return id >= 0 && !Double.isNaN(topHeights[id]);
+	}
+
+	/**
+	 * Gets the top of the collision shape, falling back to the live shape when
+	 * the state's shape depends on the world.
+	 *
+	 * @return The top of the collision shape relative to the block, or -1 if air.
+	 */
+	public double getTopHeight(BlockView world, BlockState state, BlockPos pos, Entity entity) {
+		final int id = index(state);
+		if (id >= 0) {
+			final double topHeight = topHeights[id];
+			if (!Double.isNaN(topHeight)) {
+				return topHeight;
+			}
+		}
+
+		if (state.isAir()) {
+			return -1.D;
+		}
+
+		return state.getCollisionShape(world, pos, ShapeContext.of(entity)).getMax(Direction.Axis.Y);
+	}
+
+	/**
+	 * Geometry of a seatable state.
+	 *
+	 * @param x     The X offset of the seat relative to the block.
+	 * @param y     The Y offset of the seat relative to the block, NaN if it
+	 *              depends on the live collision shape.
+	 * @param z     The Z offset of the seat relative to the block.
+	 * @param flags Where and how the seat may be used.
+	 */
+	public record Seat(double x, double y, double z, int flags) {
+		/** The seat may be used by using the block. */
+		public static final int USE = 1;
+		/** The seat may be used by {@code /sit}. */
+		public static final int COMMAND = 2;
+		/** The seat is a bed, and only works during the day. */
+		public static final int BED = 4;
+
+		public boolean isUsable() {
+			return (flags & USE) != 0;
+		}
+
+		public boolean isCommandUsable() {
+			return (flags & COMMAND) != 0;
+		}
+
+		public boolean isBed() {
+			return (flags & BED) != 0;
+		}
+	}
+}
@@ -0,0 +1,305 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Util;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for the sit pipeline.
+ * <p>
+ * Everything is recorded into {@link LongAdder}s, so recording never locks and
+ * is cheap enough to leave on. Histograms are bucketed by powers of two in
+ * nanoseconds, which is plenty to tell apart a hash lookup from a collision
+ * scan.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public final class SitMetrics {
+	private static final Logger logger = LogUtils.getLogger();
+
+	private static final String FILE_NAME = "polysit-stats.txt";
+
+	/** Time spent in {@link CollisionUtil#ground(net.minecraft.entity.Entity)}. */
+	public static final Timer GROUND = new Timer("ground");
+	/** Time spent in {@link CollisionUtil#isClear}. */
+	public static final Timer IS_CLEAR = new Timer("is_clear");
+	/** Time spent in {@link CollisionUtil#adjustFit}. */
+	public static final Timer ADJUST_FIT = new Timer("adjust_fit");
+
+	private static final Source[] SOURCES = Source.values();
+	private static final SitOutcome[] OUTCOMES = SitOutcome.values();
+	private static final LongAdder[] outcomes = adders(SOURCES.length * OUTCOMES.length);
+
+	private static final LongAdder spawned = new LongAdder();
+	private static final LongAdder discarded = new LongAdder();
+	private static final LongAdder evicted = new LongAdder();
+	private static final LongAdder fitSkipped = new LongAdder();
+	private static final LongAdder teleportCoalesced = new LongAdder();
+	private static final LongAdder yawSent = new LongAdder();
+	private static final LongAdder yawBytes = new LongAdder();
+	private static final LongAdder yawDeferred = new LongAdder();
+
+	private static final long startNanos = System.nanoTime();
+	private static int ticks;
+
+	private SitMetrics() {
+	}
+
+	/**
+	 * @return The start time to pass to a record method, or 0 if disabled.
+	 */
+	public static long start() {
+		return Config.metrics ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Records a sit attempt and how long it took from the given start.
+	 */
+	public static void record(final Source source, final SitOutcome outcome, final long start) {
+		if (!Config.metrics) {
+			return;
+		}
+		outcomes[source.ordinal() * OUTCOMES.length + outcome.ordinal()].increment();
+		source.latency.record(start);
+	}
+
+	public static void seatSpawned() {
+		spawned.increment();
+	}
+
+	public static void seatDiscarded() {
+		discarded.increment();
+	}
+
+	public static void seatEvicted() {
+		evicted.increment();
+	}
+
+	/**
+	 * Records a dismount that needed no fitting, as the entity already fit.
+	 */
+	public static void fitSkipped() {
+		if (Config.metrics) {
+			fitSkipped.increment();
+		}
+	}
+
+	/**
+	 * Records a dismount teleport that wasn't forced, as the seat was already
+	 * destroyed ahead of vanilla's own teleport.
+	 */
+	public static void teleportCoalesced() {
+		if (Config.metrics) {
+			teleportCoalesced.increment();
+		}
+	}
+
+	/**
+	 * Records a yaw update sent for the seat with the given ID.
+	 */
+	public static void yawSent(final int id) {
+		if (!Config.metrics) {
+			return;
+		}
+		yawSent.increment();
+		// Packet ID, entity ID, yaw, pitch and on ground, before compression.
+		yawBytes.add(1 + PacketByteBuf.getVarIntLength(id) + 3);
+	}
+
+	/**
+	 * Records a tick where a yaw update was held back by the rate cap.
+	 */
+	public static void yawDeferred() {
+		if (Config.metrics) {
+			yawDeferred.increment();
+		}
+	}
+
+	/**
+	 * Dumps the stats to the server directory every {@link Config#metricsDump}
+	 * seconds. Called every server tick.
+	 */
+	public static void tick(final MinecraftServer server) {
+		final int interval = Config.metricsDump;
+		if (!Config.metrics || interval <= 0 || ++ticks < interval * 20) {
+			return;
+		}
+		ticks = 0;
+
+		// Gathered on the server thread, as the seat counts aren't thread safe.
+		final var report = String.join(System.lineSeparator(), report(server)) + System.lineSeparator();
+		final Path path = server.getRunDirectory().toPath().resolve(FILE_NAME);
+
+		Util.getIoWorkerExecutor().execute(() -> {
+			try {
+				Files.writeString(path, report);
+			} catch (IOException ioe) {
+				logger.warn("Failed to write {}", path, ioe);
+			}
+		});
+	}
+
+	/**
+	 * @return The stats as human-readable lines.
+	 */
+	public static List<String> report(final MinecraftServer server) {
+		final var lines = new ArrayList<String>();
+		final double uptime = (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1L);
+
+		for (final var source : SOURCES) {
+			lines.add(source.latency.describe());
+
+			final var builder = new StringBuilder("  ");
+			for (final var outcome : OUTCOMES) {
+				final long count = outcomes[source.ordinal() * OUTCOMES.length + outcome.ordinal()].sum();
+				if (count != 0L) {
+					builder.append(outcome.metricName()).append('=').append(count).append(' ');
+				}
+			}
+			lines.add(builder.toString().stripTrailing());
+		}
+
+		lines.add(GROUND.describe());
+		lines.add(IS_CLEAR.describe());
+		lines.add(ADJUST_FIT.describe());
+		lines.add("  already_fit=" + fitSkipped.sum() + " teleports_coalesced=" + teleportCoalesced.sum());
+
+		lines.add(String.format(Locale.ROOT, "admission: use_block admitted=%d shed=%d, command admitted=%d shed=%d",
+				AdmissionControl.USE_BLOCK.admitted(), AdmissionControl.USE_BLOCK.shed(),
+				AdmissionControl.COMMAND.admitted(), AdmissionControl.COMMAND.shed()));
+
+		final long spawns = spawned.sum();
+		final long discards = discarded.sum();
+		lines.add(String.format(Locale.ROOT, "seats: spawned=%d (%.3f/s) discarded=%d (%.3f/s) evicted=%d", spawns,
+				spawns / uptime, discards, discards / uptime, evicted.sum()));
+		lines.add(String.format(Locale.ROOT, "  limits: world=%s chunk=%s on_limit=%s", limit(Config.maxSeatsPerWorld),
+				limit(Config.maxSeatsPerChunk), Config.evictSeats ? "evict" : "refuse"));
+
+		final long yaws = yawSent.sum();
+		lines.add(String.format(Locale.ROOT, "yaw: sent=%d (%.3f/s) bytes=%d (%.1f/s) deferred=%d", yaws,
+				yaws / uptime, yawBytes.sum(), yawBytes.sum() / uptime, yawDeferred.sum()));
+
+		for (final var world : server.getWorlds()) {
+			final var index = SeatIndex.of(world);
+			lines.add(String.format(Locale.ROOT, "  %s: live=%d blocks=%d chunks=%d busiest_chunk=%d",
+					world.getRegistryKey().getValue(), index.count(), index.size(), index.chunks(),
+					index.busiestChunk()));
+		}
+
+		return lines;
+	}
+
+	private static String limit(final int limit) {
+		return limit > 0 ? Integer.toString(limit) : "none";
+	}
+
+	private static LongAdder[] adders(final int length) {
+		final var adders = new LongAdder[length];
+		for (int i = 0; i < length; i++) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+
+	/**
+	 * Where a sit attempt came from.
+	 */
+	public enum Source {
+		USE_BLOCK("use_block"),
+		/** Both /sit and the keybind's packet. */
+		COMMAND("command"),
+		/** {@link BulkSeating}. */
+		BULK("bulk"),
+		;
+
+		private final String metricName;
+		private final Timer latency;
+
+		Source(final String name) {
+			this.metricName = name;
+			this.latency = new Timer(name);
+		}
+
+		public String metricName() {
+			return metricName;
+		}
+	}
+
+	/**
+	 * A log2 latency histogram, with the total time for the mean.
+	 */
+	public static final class Timer {
+		private static final int BUCKETS = 40;
+
+		private final String name;
+		private final LongAdder total = new LongAdder();
+		private final LongAdder[] buckets = adders(BUCKETS);
+
+		Timer(final String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Records the time since start, as given by {@link SitMetrics#start()}.
+		 */
+		public void record(final long start) {
+			if (!Config.metrics || start == 0L) {
+				return;
+			}
+			final long nanos = Math.max(0L, System.nanoTime() - start);
+			total.add(nanos);
+			buckets[Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(nanos | 1L))].increment();
+		}
+
+		String describe() {
+			final long[] snapshot = new long[BUCKETS];
+			long count = 0L;
+			for (int i = 0; i < BUCKETS; i++) {
+				count += snapshot[i] = buckets[i].sum();
+			}
+
+			if (count == 0L) {
+				return name + ": none";
+			}
+
+			return String.format(Locale.ROOT, "%s: count=%d mean=%.1fus p50<=%.1fus p99<=%.1fus max<=%.1fus", name,
+					count, total.sum() / (double) count / 1000D, upperBound(snapshot, count, 0.50D),
+					upperBound(snapshot, count, 0.99D), upperBound(snapshot, count, 1D));
+		}
+
+		/**
+		 * @return The upper bound of the bucket containing the quantile, in
+		 *         microseconds.
+		 */
+		private static double upperBound(final long[] snapshot, final long count, final double quantile) {
+			final long target = (long) Math.ceil(count * quantile);
+			long seen = 0L;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += snapshot[i];
+				if (seen >= target) {
+					return (1L << (i + 1)) / 1000D;
+				}
+			}
+			return Double.POSITIVE_INFINITY;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import net.minecraft.util.ActionResult;
+
+import java.util.Locale;
+
+/**
+ * The result of trying to sit, finer grained than {@link ActionResult}.
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public enum SitOutcome {
+	/** The entity is now sitting. */
+	SEATED(ActionResult.SUCCESS),
+	/** The block isn't a seat, or can't be used as one right now. */
+	NOT_A_SEAT(ActionResult.PASS),
+	/** The seat is higher than the entity can jump. */
+	TOO_HIGH(ActionResult.PASS),
+	/** There's no ground to sit on. */
+	AIR(ActionResult.PASS),
+	/** The bed is left to explode, as it would without Polysit. */
+	BED_EXPLODES(ActionResult.PASS),
+	/** Someone else is already sitting there. */
+	OCCUPIED(ActionResult.PASS),
+	/** There's no block for the seat to rest on. */
+	UNSUPPORTED(ActionResult.PASS),
+	/** The entity wouldn't fit while sitting. */
+	OBSTRUCTED(ActionResult.PASS),
+	/** The seat was recently rejected, and nothing has changed since. */
+	CACHED(ActionResult.PASS),
+	/** The world or chunk has as many seats as it may, and eviction is off. */
+	LIMITED(ActionResult.PASS),
+	/** The seat couldn't be spawned or mounted. */
+	FAILED(ActionResult.FAIL);
+
+	private final ActionResult result;
+
+	SitOutcome(final ActionResult result) {
+		this.result = result;
+	}
+
+	public ActionResult result() {
+		return result;
+	}
+
+	/**
+	 * @return The name used for metrics.
+	 */
+	public String metricName() {
+		return name().toLowerCase(Locale.ROOT);
+	}
+}
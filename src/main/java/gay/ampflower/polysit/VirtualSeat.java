@@ -0,0 +1,262 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import gay.ampflower.polysit.mixin.AccessorEntity;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BundleS2CPacket;
+import net.minecraft.network.packet.s2c.play.EntitiesDestroyS2CPacket;
+import net.minecraft.network.packet.s2c.play.EntityAttributesS2CPacket;
+import net.minecraft.network.packet.s2c.play.EntityPassengersSetS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * A seat that only exists as packets, for players when
+ * {@link Config#virtualSeats} is enabled.
+ * <p>
+ * The server keeps only this record: there's no entity to tick, track, index
+ * into entity sections or save. Viewers are told of the seat as a marker armor
+ * stand with the player as its passenger, piggybacking on the player's own
+ * tracker through {@link gay.ampflower.polysit.mixin.MixinEntityTrackerEntry}.
+ * </p>
+ * <p>
+ * As the player doesn't ride anything on the server, the seat is ticked by the
+ * player, and standing up by sneaking is picked up from the player's input.
+ * The player is moved to where the seat would hold its passenger, and
+ * dismounting fits the player into the world as {@link SeatEntity} would.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public final class VirtualSeat {
+	/** How far the player may be moved, such as by teleporting, before standing. */
+	private static final double MAX_DRIFT_SQUARED = 0.5D * 0.5D;
+
+	private final int id = AccessorEntity.getCurrentId().incrementAndGet();
+	private final UUID uuid = UUID.randomUUID();
+	private final ServerWorld world;
+	private final ServerPlayerEntity rider;
+	private final double x, y, z;
+	/** Where the seat holds the rider. */
+	private final Vec3d riderPos;
+	private final YawSync yawSync = new YawSync();
+	/** Neither the seat nor its rider ever change, so these are built just once. */
+	private final Packet<ClientPlayPacketListener> passengersPacket;
+	private final Packet<ClientPlayPacketListener> dataPacket;
+	private final Packet<ClientPlayPacketListener> attributesPacket;
+	/** Shared by every viewer until the rider turns. */
+	private Packet<ClientPlayPacketListener> spawnPacket;
+	private byte spawnYaw;
+
+	// Maintained by SeatIndex
+	boolean indexed;
+	long indexKey;
+	VirtualSeat nextInBlock;
+
+	private boolean validate;
+	private boolean removed;
+
+	private VirtualSeat(final ServerWorld world, final ServerPlayerEntity rider, final double x, final double y,
+			final double z) {
+		this.world = world;
+		this.rider = rider;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		// The seat has no height of its own, so only the rider's offset applies.
+		this.riderPos = new Vec3d(x, y + rider.getHeightOffset(), z);
+		this.passengersPacket = passengers(id, rider.getId());
+		this.dataPacket = SeatEntity.dataPacket(id);
+		this.attributesPacket = new EntityAttributesS2CPacket(id, SeatEntity.MAX_HEALTH_NULL_SINGLE);
+	}
+
+	/**
+	 * @return The virtual seat the entity is sitting on, if any.
+	 */
+	@Nullable
+	public static VirtualSeat of(@NotNull final Entity entity) {
+		return entity instanceof Rider rider ? rider.polysit$getVirtualSeat() : null;
+	}
+
+	/**
+	 * Seats the player, standing them up from any other seat first.
+	 */
+	static SitOutcome seat(final ServerWorld world, final SeatIndex index, final ServerPlayerEntity rider,
+			final double x, final double y, final double z) {
+		final var previous = of(rider);
+		if (previous != null) {
+			previous.remove();
+		}
+		if (rider.hasVehicle()) {
+			rider.stopRiding();
+		}
+
+		final var seat = new VirtualSeat(world, rider, x, y, z);
+		seat.yawSync.sent(SeatEntity.angle(rider.getYaw()));
+		index.add(seat);
+		((Rider) rider).polysit$setVirtualSeat(seat);
+
+		// As riding would, which also holds back any moves already in flight.
+		rider.networkHandler.requestTeleport(seat.riderPos.x, seat.riderPos.y, seat.riderPos.z, rider.getYaw(),
+				rider.getPitch());
+
+		final var packets = new ArrayList<Packet<ClientPlayPacketListener>>();
+		seat.writeSpawnPackets(packets::add);
+		world.getChunkManager().sendToNearbyPlayers(rider, new BundleS2CPacket(packets));
+
+		SitMetrics.seatSpawned();
+		return SitOutcome.SEATED;
+	}
+
+	/**
+	 * Writes the packets needed for a viewer to see the seat, after the rider has
+	 * been spawned.
+	 */
+	public void writeSpawnPackets(final Consumer<Packet<ClientPlayPacketListener>> sender) {
+		final byte yaw = SeatEntity.angle(rider.getYaw());
+		if (spawnPacket == null || spawnYaw != yaw) {
+			spawnPacket = SeatEntity.spawnPacket(id, uuid, x, y, z, yaw);
+			spawnYaw = yaw;
+		}
+		sender.accept(spawnPacket);
+		sender.accept(dataPacket);
+		sender.accept(attributesPacket);
+		sender.accept(passengersPacket);
+	}
+
+	/**
+	 * @return The rotation to send to the viewers, if any is due.
+	 * @see YawSync
+	 */
+	@Nullable
+	public Packet<ClientPlayPacketListener> pollRotation() {
+		return yawSync.poll(id, rider.getYaw(), world.getTime());
+	}
+
+	/**
+	 * @return The packet that removes the seat from a viewer.
+	 */
+	public Packet<ClientPlayPacketListener> destroyPacket() {
+		return new EntitiesDestroyS2CPacket(id);
+	}
+
+	/**
+	 * Called every tick of the rider, standing them up if anything has changed.
+	 */
+	public void tick() {
+		if (rider.isRemoved() || rider.getWorld() != world || rider.hasVehicle() || rider.isSpectator()
+				|| rider.getPos().squaredDistanceTo(riderPos) > MAX_DRIFT_SQUARED) {
+			remove();
+			return;
+		}
+
+		if (validate) {
+			validate = false;
+			if (!SeatEntity.isSupported(world, x, y, z)) {
+				dismount();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Stands the rider up, fitting them into the world as a regular dismount
+	 * would.
+	 */
+	public void dismount() {
+		remove();
+
+		rider.requestTeleport(x, CollisionUtil.dismountY(rider, Main.SEAT, x, y, z), z);
+	}
+
+	/**
+	 * Removes the seat without moving the rider.
+	 */
+	public void remove() {
+		if (!removed) {
+			removed = true;
+			SeatIndex.of(world).remove(this);
+			SitMetrics.seatDiscarded();
+		}
+
+		// A removed rider keeps the seat so that its tracker destroys both at once.
+		if (!rider.isRemoved() && of(rider) == this) {
+			((Rider) rider).polysit$setVirtualSeat(null);
+			world.getChunkManager().sendToNearbyPlayers(rider, destroyPacket());
+		}
+	}
+
+	/**
+	 * Called by the {@link SeatIndex} when the supporting block changes.
+	 */
+	void onSupportChanged(final BlockState state) {
+		if (state.isAir()) {
+			validate = true;
+		}
+	}
+
+	BlockPos getSupportPos() {
+		return Main.blockPosOfFloored(x, y + Main.VERTICAL_CHECK_OFFSET, z);
+	}
+
+	public ServerPlayerEntity getRider() {
+		return rider;
+	}
+
+	public double getX() {
+		return x;
+	}
+
+	public double getY() {
+		return y;
+	}
+
+	public double getZ() {
+		return z;
+	}
+
+	/**
+	 * The packet's only other constructor needs a vehicle entity, which a virtual
+	 * seat doesn't have, so it's read back from its wire layout instead.
+	 * <p>
+	 * Depends on {@link EntityPassengersSetS2CPacket#write} being the vehicle's ID
+	 * as a VarInt, followed by the passengers' IDs as a VarInt-prefixed VarInt
+	 * array, as it is up to 1.20.1.
+	 * </p>
+	 */
+	private static Packet<ClientPlayPacketListener> passengers(final int vehicle, final int passenger) {
+		final var buf = PacketByteBufs.create();
+		buf.writeVarInt(vehicle);
+		buf.writeIntArray(new int[] { passenger });
+		return new EntityPassengersSetS2CPacket(buf);
+	}
+
+	/**
+	 * Implemented on {@link ServerPlayerEntity} by
+	 * {@link gay.ampflower.polysit.mixin.MixinServerPlayerEntity}.
+	 */
+	public interface Rider {
+		@Nullable
+		VirtualSeat polysit$getVirtualSeat();
+
+		void polysit$setVirtualSeat(@Nullable VirtualSeat seat);
+	}
+}
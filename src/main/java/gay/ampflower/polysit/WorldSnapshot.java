@@ -0,0 +1,217 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.CollisionView;
+import net.minecraft.world.border.WorldBorder;
+import net.minecraft.world.chunk.PalettedContainer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * An immutable copy of a handful of chunk sections, to run collision checks
+ * against off the server thread.
+ * <p>
+ * Only block states are copied. Block entities are absent, so blocks that
+ * {@linkplain net.minecraft.block.Block#hasDynamicBounds() have dynamic
+ * bounds} may not collide as they would in the world, and there are no entity
+ * collisions, as with {@link CollisionUtil} in the world.
+ * </p>
+ * <p>
+ * Sections holding blocks whose collision needs the live entity rather than
+ * any copy of its shape context, such as powder snow, are noted so that checks
+ * touching them can be left to the server thread.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public final class WorldSnapshot implements CollisionView {
+	private static final BlockState AIR = Blocks.AIR.getDefaultState();
+	/** Margin around checked columns, covering the edges the scan visits. */
+	private static final int MARGIN = 2;
+
+	private final Long2ObjectOpenHashMap<PalettedContainer<BlockState>> sections;
+	private final LongSet chunks;
+	/** Sections holding blocks that {@linkplain #isEntityDependent depend on the entity}. */
+	private final LongSet entityDependent;
+	private final WorldBorder border;
+	private final int bottomY;
+	private final int height;
+
+	private WorldSnapshot(final Long2ObjectOpenHashMap<PalettedContainer<BlockState>> sections,
+			final LongSet chunks, final LongSet entityDependent, final ServerWorld world) {
+		this.sections = sections;
+		this.chunks = chunks;
+		this.entityDependent = entityDependent;
+		this.border = world.getWorldBorder();
+		this.bottomY = world.getBottomY();
+		this.height = world.getHeight();
+	}
+
+	/**
+	 * Copies the given sections of loaded chunks. Must be called on the server
+	 * thread.
+	 *
+	 * @param keys Packed {@link ChunkSectionPos}es to copy.
+	 */
+	public static WorldSnapshot of(final ServerWorld world, final LongSet keys) {
+		final var sections = new Long2ObjectOpenHashMap<PalettedContainer<BlockState>>(keys.size());
+		final var chunks = new LongOpenHashSet();
+		final var entityDependent = new LongOpenHashSet();
+		final var manager = world.getChunkManager();
+
+		for (final long key : keys) {
+			final int sectionY = ChunkSectionPos.unpackY(key);
+			final int index = world.sectionCoordToIndex(sectionY);
+			if (index < 0 || index >= world.countVerticalSections()) {
+				continue;
+			}
+
+			final int chunkX = ChunkSectionPos.unpackX(key);
+			final int chunkZ = ChunkSectionPos.unpackZ(key);
+			final var chunk = manager.getWorldChunk(chunkX, chunkZ);
+			if (chunk == null) {
+				continue;
+			}
+
+			chunks.add(ChunkPos.toLong(chunkX, chunkZ));
+			final var section = chunk.getSection(index);
+			// Empty sections are stored as null, and read as air.
+			if (section.isEmpty()) {
+				sections.put(key, null);
+				continue;
+			}
+
+			final var container = section.getBlockStateContainer();
+			if (container.hasAny(WorldSnapshot::isEntityDependent)) {
+				entityDependent.add(key);
+			}
+			sections.put(key, container.copy());
+		}
+
+		return new WorldSnapshot(sections, chunks, entityDependent, world);
+	}
+
+	/**
+	 * Whether the state's collision reads the entity itself, such as its fall
+	 * distance or boots, which can't be done off the server thread.
+	 */
+	private static boolean isEntityDependent(final BlockState state) {
+		return state.isOf(Blocks.POWDER_SNOW);
+	}
+
+	/**
+	 * @param keys Packed {@link ChunkSectionPos}es to check.
+	 * @return true if any of the sections hold blocks whose collision depends on
+	 *         the live entity.
+	 */
+	public boolean dependsOnEntity(final LongSet keys) {
+		if (entityDependent.isEmpty()) {
+			return false;
+		}
+		final var iterator = keys.iterator();
+		while (iterator.hasNext()) {
+			if (entityDependent.contains(iterator.nextLong())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the sections that a collision check of the given column would visit,
+	 * with some margin.
+	 */
+	public static void addSections(final LongSet keys, final double x, final double minY, final double z,
+			final double width, final double maxY) {
+		final double w = width / 2D;
+		final int minX = ChunkSectionPos.getSectionCoord(MathHelper.floor(x - w) - MARGIN);
+		final int maxX = ChunkSectionPos.getSectionCoord(MathHelper.floor(x + w) + MARGIN);
+		final int minSY = ChunkSectionPos.getSectionCoord(MathHelper.floor(minY) - MARGIN);
+		final int maxSY = ChunkSectionPos.getSectionCoord(MathHelper.floor(maxY) + MARGIN);
+		final int minZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(z - w) - MARGIN);
+		final int maxZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(z + w) + MARGIN);
+
+		for (int sx = minX; sx <= maxX; sx++) {
+			for (int sy = minSY; sy <= maxSY; sy++) {
+				for (int sz = minZ; sz <= maxZ; sz++) {
+					keys.add(ChunkSectionPos.asLong(sx, sy, sz));
+				}
+			}
+		}
+	}
+
+	@Override
+	public BlockState getBlockState(final BlockPos pos) {
+		final int y = pos.getY();
+		if (y < bottomY || y >= bottomY + height) {
+			return AIR;
+		}
+
+		final var section = sections.get(ChunkSectionPos.asLong(pos.getX() >> 4, y >> 4, pos.getZ() >> 4));
+		if (section == null) {
+			return AIR;
+		}
+
+		return section.get(pos.getX() & 15, y & 15, pos.getZ() & 15);
+	}
+
+	@Override
+	public FluidState getFluidState(final BlockPos pos) {
+		return getBlockState(pos).getFluidState();
+	}
+
+	@Nullable
+	@Override
+	public BlockEntity getBlockEntity(final BlockPos pos) {
+		return null;
+	}
+
+	@Override
+	public WorldBorder getWorldBorder() {
+		return border;
+	}
+
+	@Nullable
+	@Override
+	public BlockView getChunkAsView(final int chunkX, final int chunkZ) {
+		return chunks.contains(ChunkPos.toLong(chunkX, chunkZ)) ? this : null;
+	}
+
+	@Override
+	public List<VoxelShape> getEntityCollisions(@Nullable final Entity entity, final Box box) {
+		return List.of();
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public int getBottomY() {
+		return bottomY;
+	}
+}
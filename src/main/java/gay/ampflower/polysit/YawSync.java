@@ -0,0 +1,70 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.EntityS2CPacket;
+import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Throttles the yaw a seat sends to its viewers.
+ * <p>
+ * The yaw is only sent once it has moved by {@link Config#yawStep} network
+ * angle steps, and at most {@link Config#yawRate} times a second per seat. A
+ * change held back by the cap isn't lost; it's sent once the seat may send
+ * again, if the yaw is still far enough off.
+ * </p>
+ * <p>
+ * Polled from the passenger's tracker tick, so that the update goes out along
+ * with the passenger's own movement.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+public final class YawSync {
+	private byte sent;
+	/** World time from which another update may be sent. */
+	private long next;
+
+	/**
+	 * Sets the yaw the viewers were last sent, such as by a spawn packet.
+	 */
+	void sent(final byte angle) {
+		this.sent = angle;
+	}
+
+	/**
+	 * @return The rotation to send to the viewers of the seat, or null if it
+	 *         doesn't need or may not be sent yet.
+	 */
+	@Nullable
+	Packet<ClientPlayPacketListener> poll(final int id, final float yaw, final long time) {
+		final int rate = Config.yawRate;
+		if (rate <= 0) {
+			return null;
+		}
+
+		final byte angle = SeatEntity.angle(yaw);
+		// Wraps around through the byte cast, so 127 to -128 is a single step.
+		if (Math.abs((byte) (angle - sent)) < Math.max(1, Config.yawStep)) {
+			return null;
+		}
+
+		if (time < next) {
+			SitMetrics.yawDeferred();
+			return null;
+		}
+
+		sent = angle;
+		next = time + MathHelper.ceil(20D / rate);
+		SitMetrics.yawSent(id);
+		return new EntityS2CPacket.Rotate(id, angle, (byte) 0, false);
+	}
+}
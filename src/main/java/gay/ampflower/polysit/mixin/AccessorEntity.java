@@ -7,9 +7,12 @@
 package gay.ampflower.polysit.mixin;
 
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.data.TrackedData;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.gen.Accessor;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * @author Ampflower
  * @since 0.8.1
@@ -18,4 +21,15 @@ import org.spongepowered.asm.mixin.gen.Accessor;
 public interface AccessorEntity {
 	@Accessor
 	void setVehicle(final Entity vehicle);
+
+	/** Used to allocate IDs for virtual seats. */
+	@Accessor("CURRENT_ID")
+	static AtomicInteger getCurrentId() {
+		throw new AssertionError();
+	}
+
+	@Accessor("FLAGS")
+	static TrackedData<Byte> getFlags() {
+		throw new AssertionError();
+	}
 }
@@ -0,0 +1,93 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit.mixin;
+
+import gay.ampflower.polysit.SeatEntity;
+import gay.ampflower.polysit.VirtualSeat;
+import net.minecraft.entity.Entity;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.EntitiesDestroyS2CPacket;
+import net.minecraft.server.network.EntityTrackerEntry;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import java.util.function.Consumer;
+
+/**
+ * Sends seats along with their passenger, as seats have no tracker of their
+ * own. The seat is spawned in the same bundle as the passenger, ahead of it so
+ * that the passenger packet finds both, and destroyed along with the passenger.
+ * <p>
+ * A rider's {@link VirtualSeat} is spawned and destroyed along with the rider
+ * the same way.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+@Mixin(EntityTrackerEntry.class)
+public abstract class MixinEntityTrackerEntry {
+	@Shadow
+	@Final
+	private Entity entity;
+
+	@Shadow
+	protected abstract void sendSyncPacket(Packet<?> packet);
+
+	@Inject(method = "sendPackets", at = @At("HEAD"))
+	private void polysit$sendSeatPackets(Consumer<Packet<ClientPlayPacketListener>> sender, CallbackInfo ci) {
+		if (entity.getVehicle() instanceof SeatEntity seat) {
+			seat.writeSpawnPackets(sender);
+		}
+	}
+
+	@Inject(method = "sendPackets", at = @At("TAIL"))
+	private void polysit$sendVirtualSeatPackets(Consumer<Packet<ClientPlayPacketListener>> sender,
+			CallbackInfo ci) {
+		final var virtual = VirtualSeat.of(entity);
+		if (virtual != null) {
+			virtual.writeSpawnPackets(sender);
+		}
+	}
+
+	/**
+	 * Sends the seat's yaw in the same tick and to the same viewers as the
+	 * passenger's own updates, the passenger included.
+	 */
+	@Inject(method = "tick", at = @At("TAIL"))
+	private void polysit$syncSeatYaw(CallbackInfo ci) {
+		Packet<ClientPlayPacketListener> rotation = null;
+		if (entity.getVehicle() instanceof SeatEntity seat) {
+			rotation = seat.pollRotation();
+		} else {
+			final var virtual = VirtualSeat.of(entity);
+			if (virtual != null) {
+				rotation = virtual.pollRotation();
+			}
+		}
+		if (rotation != null) {
+			sendSyncPacket(rotation);
+		}
+	}
+
+	@Inject(method = "stopTracking", at = @At("TAIL"))
+	private void polysit$destroySeat(ServerPlayerEntity player, CallbackInfo ci) {
+		if (entity.getVehicle() instanceof SeatEntity seat) {
+			player.networkHandler.sendPacket(new EntitiesDestroyS2CPacket(seat.getId()));
+		}
+		final var virtual = VirtualSeat.of(entity);
+		if (virtual != null) {
+			player.networkHandler.sendPacket(virtual.destroyPacket());
+		}
+	}
+}
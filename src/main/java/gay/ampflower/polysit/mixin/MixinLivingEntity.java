@@ -6,6 +6,7 @@
 
 package gay.ampflower.polysit.mixin;// Created 2022-08-05T23:31:06
 
+import com.llamalad7.mixinextras.sugar.Local;
 import gay.ampflower.polysit.CollisionUtil;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
@@ -29,11 +30,7 @@ public abstract class MixinLivingEntity extends Entity {
 	}
 
 	@ModifyArg(method = "onDismounted", at = @At(value = "INVOKE", target = "Lnet/minecraft/util/math/Vec3d;<init>(DDD)V"), index = 1)
-	private double modifyY(double x, double y, double z) {
-		final var fit = CollisionUtil.adjustFit(this, x, y, z);
-		if (fit.pose() != null) {
-			this.setPose(fit.pose());
-		}
-		return fit.y();
+	private double modifyY(double x, double y, double z, @Local(argsOnly = true) Entity vehicle) {
+		return CollisionUtil.dismountY(this, vehicle.getType(), x, y, z);
 	}
 }
@@ -7,12 +7,18 @@
 package gay.ampflower.polysit.mixin;
 
 import com.mojang.authlib.GameProfile;
+import gay.ampflower.polysit.SavedSeat;
+import gay.ampflower.polysit.SeatEntity;
+import gay.ampflower.polysit.SitMetrics;
+import gay.ampflower.polysit.VirtualSeat;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
@@ -21,12 +27,28 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
  * Forcefully teleports the player on dismount.
  *
  * This fixes it and I hate the fact that it needs to exist.
+ * <p>
+ * Also stores where the player is sitting in place of the seat, restoring it
+ * once the player's back and the block is ticking.
+ * </p>
+ * <p>
+ * Holds and ticks the player's {@link VirtualSeat}, standing the player up when
+ * sneaking as riding a seat would.
+ * </p>
  *
  * @author Ampflower
  * @since 0.3.1
  **/
 @Mixin(ServerPlayerEntity.class)
-public abstract class MixinServerPlayerEntity extends PlayerEntity {
+public abstract class MixinServerPlayerEntity extends PlayerEntity implements VirtualSeat.Rider, SeatEntity.Passenger {
+	@Unique
+	private SavedSeat polysit$savedSeat;
+	@Unique
+	private VirtualSeat polysit$virtualSeat;
+	/** Set between a seat's destroy and the dismount teleport following it. */
+	@Unique
+	private boolean polysit$seatDestroyed;
+
 	@Shadow
 	public abstract void requestTeleport(final double destX, final double destY, final double destZ);
 
@@ -39,9 +61,77 @@ public abstract class MixinServerPlayerEntity extends PlayerEntity {
 	 * Forces a teleport packet, which for some reason is not sent.
 	 *
 	 * Blame Mojang for this one's existence.
+	 * <p>
+	 * Skipped when getting off a seat, as the seat's destroy was already sent
+	 * ahead of vanilla's teleport, which is then enough by itself.
+	 * </p>
 	 */
 	@Inject(method = "requestTeleportAndDismount", at = @At("RETURN"))
 	private void onDismount(double x, double y, double z, CallbackInfo ci) {
+		if (polysit$seatDestroyed) {
+			polysit$seatDestroyed = false;
+			SitMetrics.teleportCoalesced();
+			return;
+		}
 		this.requestTeleport(x, y, z);
 	}
+
+	@Override
+	public void polysit$onSeatDestroyed() {
+		polysit$seatDestroyed = true;
+	}
+
+	@Override
+	public VirtualSeat polysit$getVirtualSeat() {
+		return polysit$virtualSeat;
+	}
+
+	@Override
+	public void polysit$setVirtualSeat(final VirtualSeat seat) {
+		polysit$virtualSeat = seat;
+	}
+
+	/**
+	 * Replaces the seat as the root vehicle with a compact record of it, so the
+	 * seat itself is never saved.
+	 */
+	@Inject(method = "writeCustomDataToNbt", at = @At("TAIL"))
+	private void polysit$writeSeat(NbtCompound nbt, CallbackInfo ci) {
+		if (this.getVehicle() instanceof SeatEntity seat) {
+			nbt.remove("RootVehicle");
+			SavedSeat.of(seat).write(nbt);
+		} else if (polysit$virtualSeat != null) {
+			SavedSeat.of(polysit$virtualSeat).write(nbt);
+		} else if (polysit$savedSeat != null) {
+			// Saved again before the seat could be restored.
+			polysit$savedSeat.write(nbt);
+		}
+	}
+
+	@Inject(method = "readCustomDataFromNbt", at = @At("TAIL"))
+	private void polysit$readSeat(NbtCompound nbt, CallbackInfo ci) {
+		polysit$savedSeat = SavedSeat.read(nbt);
+	}
+
+	@Inject(method = "tick", at = @At("HEAD"))
+	private void polysit$restoreSeat(CallbackInfo ci) {
+		if (polysit$savedSeat != null && polysit$savedSeat.restore((ServerPlayerEntity) (Object) this)) {
+			polysit$savedSeat = null;
+		}
+		if (polysit$virtualSeat != null) {
+			polysit$virtualSeat.tick();
+		}
+	}
+
+	/**
+	 * Stands up from the virtual seat, as the server isn't otherwise aware that
+	 * the player is riding anything.
+	 */
+	@Inject(method = "updateInput", at = @At("HEAD"))
+	private void polysit$sneakVirtualSeat(float sidewaysSpeed, float forwardSpeed, boolean jumping, boolean sneaking,
+			CallbackInfo ci) {
+		if (sneaking && polysit$virtualSeat != null) {
+			polysit$virtualSeat.dismount();
+		}
+	}
 }
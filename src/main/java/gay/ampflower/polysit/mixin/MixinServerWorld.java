@@ -0,0 +1,58 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit.mixin;
+
+import gay.ampflower.polysit.AsyncValidator;
+import gay.ampflower.polysit.RejectionCache;
+import gay.ampflower.polysit.SeatIndex;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Attaches the seat index, rejection cache and async validator to the world, and
+ * forwards block changes to them.
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+@Mixin(ServerWorld.class)
+public abstract class MixinServerWorld implements SeatIndex.Holder, RejectionCache.Holder, AsyncValidator.Holder {
+	@Unique
+	private final SeatIndex polysit$seatIndex = new SeatIndex();
+	@Unique
+	private final RejectionCache polysit$rejectionCache = new RejectionCache();
+	@Unique
+	private final AsyncValidator polysit$asyncValidator = new AsyncValidator((ServerWorld) (Object) this);
+
+	@Override
+	public SeatIndex polysit$getSeatIndex() {
+		return polysit$seatIndex;
+	}
+
+	@Override
+	public RejectionCache polysit$getRejectionCache() {
+		return polysit$rejectionCache;
+	}
+
+	@Override
+	public AsyncValidator polysit$getAsyncValidator() {
+		return polysit$asyncValidator;
+	}
+
+	@Inject(method = "onBlockChanged", at = @At("HEAD"))
+	private void polysit$onBlockChanged(BlockPos pos, BlockState oldBlock, BlockState newBlock, CallbackInfo ci) {
+		polysit$seatIndex.onBlockChanged(pos, newBlock);
+		polysit$rejectionCache.onBlockChanged(pos);
+		polysit$asyncValidator.onBlockChanged(pos);
+	}
+}
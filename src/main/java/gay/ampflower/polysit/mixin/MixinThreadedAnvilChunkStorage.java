@@ -0,0 +1,33 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit.mixin;
+
+import gay.ampflower.polysit.SeatEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ThreadedAnvilChunkStorage;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Keeps seats out of entity tracking, as they're sent along with their
+ * passenger by {@link MixinEntityTrackerEntry}. Seats thereby cost nothing in
+ * the per-tick viewer updates.
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+@Mixin(ThreadedAnvilChunkStorage.class)
+public abstract class MixinThreadedAnvilChunkStorage {
+	@Inject(method = "loadEntity", at = @At("HEAD"), cancellable = true)
+	private void polysit$skipSeatTracker(Entity entity, CallbackInfo ci) {
+		if (entity instanceof SeatEntity) {
+			ci.cancel();
+		}
+	}
+}
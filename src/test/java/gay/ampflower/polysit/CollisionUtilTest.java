@@ -0,0 +1,283 @@
+/* Copyright 2026 Ampflower
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package gay.ampflower.polysit;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.FenceBlock;
+import net.minecraft.block.ShapeContext;
+import net.minecraft.block.SlabBlock;
+import net.minecraft.block.SnowBlock;
+import net.minecraft.block.StairsBlock;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.enums.BlockHalf;
+import net.minecraft.block.enums.SlabType;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityDimensions;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.CollisionView;
+import net.minecraft.world.border.WorldBorder;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the collision queries against the stream over
+ * {@link CollisionView#getBlockCollisions(Entity, Box)} they replaced, across
+ * seeded random worlds and queries.
+ * <p>
+ * The worlds favour the cases the direct walk handles by itself: blocks taller
+ * than a cube on the edges of the query, moving pistons on the corners, and
+ * queries snapped to the block grid, where the edge tolerance decides.
+ * </p>
+ *
+ * @author Ampflower
+ * @since 0.9.0
+ **/
+class CollisionUtilTest {
+	private static final long SEED = 0x706F6C7973697431L;
+	private static final int WORLDS = 32;
+	private static final int QUERIES = 512;
+
+	private static final double[] WIDTHS = { 0.3D, 0.6D, 0.9D, 1.4D };
+	private static final float[] HEIGHTS = { 0.6F, 1.5F, 1.8F };
+	private static final double[] JUMPS = { 0.5D, 1.0D, 1.25D };
+
+	@BeforeAll
+	static void bootstrap() {
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+	}
+
+	@Test
+	void groundMatchesBlockCollisions() {
+		final var random = new Random(SEED);
+		for (int i = 0; i < WORLDS; i++) {
+			final int w = i;
+			final var world = TestWorld.random(random);
+			for (int q = 0; q < QUERIES; q++) {
+				final double x = coordinate(random, 3, 13);
+				final double y = coordinate(random, 2, 14);
+				final double z = coordinate(random, 3, 13);
+				final double width = pick(random, WIDTHS);
+				final double jump = pick(random, JUMPS);
+
+				assertEquals(Reference.ground(world, x, y, z, width, jump),
+						CollisionUtil.ground(world, ShapeContext.absent(), x, y, z, width, jump),
+						() -> describe("ground", w, x, y, z, width, jump));
+			}
+		}
+	}
+
+	@Test
+	void isClearMatchesBlockCollisions() {
+		final var random = new Random(SEED + 1);
+		for (int i = 0; i < WORLDS; i++) {
+			final int w = i;
+			final var world = TestWorld.random(random);
+			for (int q = 0; q < QUERIES; q++) {
+				final double x = coordinate(random, 3, 13);
+				final double y = coordinate(random, 2, 14);
+				final double z = coordinate(random, 3, 13);
+				final double width = pick(random, WIDTHS);
+				final double maxY = y + pick(random, HEIGHTS);
+
+				assertEquals(Reference.isClear(world, x, y, z, width, maxY),
+						CollisionUtil.isClear(world, ShapeContext.absent(), x, y, z, width, maxY),
+						() -> describe("isClear", w, x, y, z, width, maxY));
+			}
+		}
+	}
+
+	@Test
+	void fitMatchesBlockCollisions() {
+		final var random = new Random(SEED + 2);
+		for (int i = 0; i < WORLDS; i++) {
+			final int w = i;
+			final var world = TestWorld.random(random);
+			for (int q = 0; q < QUERIES; q++) {
+				final double x = coordinate(random, 3, 13);
+				final double y = coordinate(random, 2, 12);
+				final double z = coordinate(random, 3, 13);
+				final var dimensions = EntityDimensions.changing((float) pick(random, WIDTHS), pick(random, HEIGHTS));
+				final double max = y + pick(random, JUMPS) + dimensions.height;
+
+				final double[] expected = Reference.fit(world, x, y, z, dimensions, max);
+				final var actual = CollisionUtil.fit(world, ShapeContext.absent(), x, y, z, dimensions, max);
+
+				assertEquals(expected[0], actual.min, () -> describe("fit min", w, x, y, z, dimensions.width, max));
+				assertEquals(expected[1], actual.max, () -> describe("fit max", w, x, y, z, dimensions.width, max));
+			}
+		}
+	}
+
+	/**
+	 * Half of the coordinates are snapped to sixteenths, landing on block and
+	 * slab edges.
+	 */
+	private static double coordinate(final Random random, final int min, final int max) {
+		final double value = min + random.nextDouble() * (max - min);
+		return random.nextBoolean() ? Math.floor(value * 16D) / 16D : value;
+	}
+
+	private static double pick(final Random random, final double[] values) {
+		return random.nextInt(4) == 0 ? random.nextDouble() * 2D : values[random.nextInt(values.length)];
+	}
+
+	private static float pick(final Random random, final float[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	private static String describe(final String query, final int world, final double x, final double y,
+			final double z, final double width, final double extent) {
+		return query + " in world #" + world + " at " + x + ", " + y + ", " + z + " of " + width + " to " + extent;
+	}
+
+	/**
+	 * The stream-based queries as they were before walking the blocks directly.
+	 */
+	private static final class Reference {
+		static double ground(final CollisionView world, final double x, final double y, final double z,
+				final double width, final double jumpHeight) {
+			final var box = CollisionUtil.box(x, y - jumpHeight, z, width, y);
+			return collisions(world, box).mapToDouble(bound -> bound.maxY).max().orElse(Double.NEGATIVE_INFINITY);
+		}
+
+		static boolean isClear(final CollisionView world, final double x, final double y, final double z,
+				final double width, final double maxY) {
+			return collisions(world, CollisionUtil.box(x, y, z, width, maxY)).findAny().isEmpty();
+		}
+
+		static double[] fit(final CollisionView world, final double x, final double y, final double z,
+				final EntityDimensions dimensions, double max) {
+			double min = y;
+			Box box = dimensions.getBoxAt(x, y, z);
+
+			final var iterator = collisions(world, box.withMaxY(max)).iterator();
+			while (iterator.hasNext()) {
+				final var bound = iterator.next();
+				if (!bound.intersects(box)) {
+					max = Math.min(max, bound.minY);
+					continue;
+				}
+				box = box.offset(0, bound.maxY - min, 0);
+				min = bound.maxY;
+			}
+
+			return new double[] { min, max };
+		}
+
+		private static Stream<Box> collisions(final CollisionView world, final Box box) {
+			return StreamSupport.stream(world.getBlockCollisions(null, box).spliterator(), false)
+					.flatMap(shape -> shape.getBoundingBoxes().stream()).filter(box::intersects);
+		}
+	}
+
+	/**
+	 * A single chunk of random blocks.
+	 */
+	private static final class TestWorld implements CollisionView {
+		private static final int SIZE = 16;
+		private static final int HEIGHT = 16;
+
+		private final BlockState[] states = new BlockState[SIZE * HEIGHT * SIZE];
+		private final WorldBorder border = new WorldBorder();
+
+		static TestWorld random(final Random random) {
+			final var world = new TestWorld();
+			for (int i = 0; i < world.states.length; i++) {
+				world.states[i] = state(random);
+			}
+			return world;
+		}
+
+		private static BlockState state(final Random random) {
+			final var facing = Direction.fromHorizontal(random.nextInt(4));
+			return switch (random.nextInt(16)) {
+				case 0 -> Blocks.STONE.getDefaultState();
+				case 1 -> Blocks.OAK_SLAB.getDefaultState().with(SlabBlock.TYPE,
+						random.nextBoolean() ? SlabType.BOTTOM : SlabType.TOP);
+				case 2 -> Blocks.OAK_STAIRS.getDefaultState().with(StairsBlock.FACING, facing)
+						.with(StairsBlock.HALF, random.nextBoolean() ? BlockHalf.BOTTOM : BlockHalf.TOP);
+				case 3 -> Blocks.OAK_FENCE.getDefaultState().with(FenceBlock.NORTH, random.nextBoolean())
+						.with(FenceBlock.EAST, random.nextBoolean()).with(FenceBlock.SOUTH, random.nextBoolean())
+						.with(FenceBlock.WEST, random.nextBoolean());
+				case 4 -> Blocks.COBBLESTONE_WALL.getDefaultState();
+				case 5 -> Blocks.SNOW.getDefaultState().with(SnowBlock.LAYERS, 1 + random.nextInt(8));
+				case 6 -> Blocks.WHITE_CARPET.getDefaultState();
+				case 7 -> Blocks.MOVING_PISTON.getDefaultState();
+				case 8 -> Blocks.OAK_FENCE_GATE.getDefaultState();
+				default -> Blocks.AIR.getDefaultState();
+			};
+		}
+
+		private static int index(int x, int y, int z) {
+			return (y * SIZE + z) * SIZE + x;
+		}
+
+		private static boolean inBounds(int x, int y, int z) {
+			return x >= 0 && x < SIZE && y >= 0 && y < HEIGHT && z >= 0 && z < SIZE;
+		}
+
+		@Override
+		public WorldBorder getWorldBorder() {
+			return border;
+		}
+
+		@Nullable
+		@Override
+		public BlockView getChunkAsView(int chunkX, int chunkZ) {
+			return chunkX == 0 && chunkZ == 0 ? this : null;
+		}
+
+		@Override
+		public List<VoxelShape> getEntityCollisions(@Nullable Entity entity, Box box) {
+			return List.of();
+		}
+
+		@Nullable
+		@Override
+		public BlockEntity getBlockEntity(BlockPos pos) {
+			return null;
+		}
+
+		@Override
+		public BlockState getBlockState(BlockPos pos) {
+			final int x = pos.getX(), y = pos.getY(), z = pos.getZ();
+			return inBounds(x, y, z) ? states[index(x, y, z)] : Blocks.AIR.getDefaultState();
+		}
+
+		@Override
+		public FluidState getFluidState(BlockPos pos) {
+			return getBlockState(pos).getFluidState();
+		}
+
+		@Override
+		public int getHeight() {
+			return HEIGHT;
+		}
+
+		@Override
+		public int getBottomY() {
+			return 0;
+		}
+	}
+}